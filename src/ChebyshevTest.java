@@ -0,0 +1,60 @@
+import functions.ChebyshevFunction;
+import functions.Function;
+import functions.basic.Sin;
+
+/**
+ * Проверка приближения рядом Чебышёва: погрешность приближения гладкой и негладкой
+ * функций, измеренная на равномерной сетке с шагом 1e-4, не должна превышать
+ * заданную точность, либо построение должно завершиться исключением.
+ */
+public class ChebyshevTest {
+    private static final double GRID_STEP = 1e-4;
+
+    public static void main(String[] args) {
+        System.out.println("=== ТЕСТИРОВАНИЕ ПРИБЛИЖЕНИЯ РЯДОМ ЧЕБЫШЁВА ===\n");
+
+        Function abs = new Function() {
+            @Override
+            public double getLeftDomainBorder() {
+                return Double.NEGATIVE_INFINITY;
+            }
+
+            @Override
+            public double getRightDomainBorder() {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            @Override
+            public double getFunctionValue(double x) {
+                return Math.abs(x);
+            }
+        };
+
+        boolean passed = true;
+        passed &= check("sin(x) на [0, 10]", new Sin(), 0, 10, 1e-10);
+        passed &= check("|x| на [-1, 1]", abs, -1, 1, 1e-2);
+        passed &= check("|x| на [-1, 1]", abs, -1, 1, 1e-3);
+
+        System.out.println(passed ? "\nТест завершен успешно!" : "\nТест не пройден!");
+    }
+
+    private static boolean check(String name, Function function, double leftX, double rightX, double tolerance) {
+        ChebyshevFunction approximation;
+        try {
+            approximation = ChebyshevFunction.approximate(function, leftX, rightX, tolerance);
+        } catch (IllegalArgumentException e) {
+            System.out.println(name + ", точность " + tolerance + ": точность не достигнута (" + e.getMessage() + ")");
+            return true;
+        }
+        double error = 0;
+        int steps = (int) Math.round((rightX - leftX) / GRID_STEP);
+        for (int i = 0; i <= steps; i++) {
+            double x = Math.min(rightX, leftX + i * GRID_STEP);
+            error = Math.max(error, Math.abs(approximation.getFunctionValue(x) - function.getFunctionValue(x)));
+        }
+        boolean ok = error <= tolerance;
+        System.out.printf("%s, точность %s: степень %d, погрешность на сетке %.3e — %s%n",
+            name, tolerance, approximation.getDegree(), error, ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+}
@@ -0,0 +1,190 @@
+import threads.BarrierGenerator;
+import threads.BarrierIntegrator;
+import threads.GenerationBarrier;
+import threads.RandomTasks;
+import threads.ResultSink;
+import threads.SourceSink;
+import threads.Task;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Проверка барьера публикации с номером поколения:
+ * <ul>
+ *     <li>в режиме передачи с подтверждением каждый из нескольких читателей получает
+ *     каждое поколение ровно один раз и по порядку — без пропущенных и повторных пробуждений;</li>
+ *     <li>в режиме рассылки последнего значения читатели получают поколения в порядке
+ *     возрастания и без повторов (пропуски допустимы);</li>
+ *     <li>BarrierGenerator и несколько BarrierIntegrator обрабатывают все задания:
+ *     каждый интегратор решает каждое задание.</li>
+ * </ul>
+ * Аргументы: количество читателей и количество поколений (по умолчанию 4 и 100000).
+ */
+public class GenerationBarrierTest {
+    private static final int DEMO_TASKS = 1000;
+    private static final long SEED = 42;
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        System.out.println("=== ТЕСТИРОВАНИЕ БАРЬЕРА ПУБЛИКАЦИИ С НОМЕРОМ ПОКОЛЕНИЯ ===\n");
+
+        boolean passed = true;
+        passed &= testAcknowledged(readers, generations);
+        passed &= testLatestValue(readers, generations);
+        passed &= testGeneratorIntegrators(readers);
+
+        System.out.println(passed ? "\nТест завершен успешно!" : "\nТест не пройден!");
+    }
+
+    private static boolean testAcknowledged(int readersCount, int generations) throws InterruptedException {
+        GenerationBarrier<Integer> barrier = new GenerationBarrier<>(readersCount);
+        int[] received = new int[readersCount];
+        int[] wrong = new int[readersCount];
+        AtomicBoolean failed = new AtomicBoolean();
+
+        Thread[] readers = new Thread[readersCount];
+        for (int r = 0; r < readersCount; r++) {
+            int reader = r;
+            readers[r] = new Thread(() -> {
+                try {
+                    long lastSeen = 0;
+                    GenerationBarrier.Published<Integer> published;
+                    while ((published = barrier.awaitAfter(lastSeen)) != null) {
+                        // Значение совпадает с номером поколения, и поколения идут подряд
+                        if (published.getGeneration() != lastSeen + 1
+                                || published.getValue() != published.getGeneration()) {
+                            wrong[reader]++;
+                        }
+                        received[reader]++;
+                        lastSeen = published.getGeneration();
+                        barrier.acknowledge();
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+            readers[r].start();
+        }
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 1; i <= generations; i++) {
+                    barrier.publish(i);
+                }
+            } catch (InterruptedException e) {
+                failed.set(true);
+            } finally {
+                barrier.close();
+            }
+        });
+        writer.start();
+        boolean finished = joinAll(new Thread[] {writer}) && joinAll(readers);
+
+        // Результаты читателей видны после join()
+        boolean ok = finished && !failed.get();
+        for (int r = 0; r < readersCount; r++) {
+            ok &= received[r] == generations && wrong[r] == 0;
+        }
+        System.out.printf("С подтверждением, %d читателей, %d поколений: получено %s, "
+                + "пропусков и повторов %s — %s%n",
+            readersCount, generations, Arrays.toString(received),
+            Arrays.toString(wrong), ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+
+    private static boolean testLatestValue(int readersCount, int generations) throws InterruptedException {
+        GenerationBarrier<Integer> barrier = new GenerationBarrier<>();
+        int[] received = new int[readersCount];
+        int[] wrong = new int[readersCount];
+        long[] last = new long[readersCount];
+        AtomicBoolean failed = new AtomicBoolean();
+
+        Thread[] readers = new Thread[readersCount];
+        for (int r = 0; r < readersCount; r++) {
+            int reader = r;
+            readers[r] = new Thread(() -> {
+                try {
+                    long lastSeen = 0;
+                    GenerationBarrier.Published<Integer> published;
+                    while ((published = barrier.awaitAfter(lastSeen)) != null) {
+                        if (published.getGeneration() <= lastSeen
+                                || published.getValue() != published.getGeneration()) {
+                            wrong[reader]++;
+                        }
+                        received[reader]++;
+                        lastSeen = published.getGeneration();
+                    }
+                    last[reader] = lastSeen;
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+            readers[r].start();
+        }
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 1; i <= generations; i++) {
+                    barrier.publish(i);
+                }
+            } catch (InterruptedException e) {
+                failed.set(true);
+            } finally {
+                barrier.close();
+            }
+        });
+        writer.start();
+        boolean finished = joinAll(new Thread[] {writer}) && joinAll(readers);
+
+        // Каждый читатель должен дойти до последнего поколения: закрытие не теряет его
+        boolean ok = finished && !failed.get();
+        for (int r = 0; r < readersCount; r++) {
+            ok &= wrong[r] == 0 && last[r] == generations;
+        }
+        System.out.printf("Последнее значение, %d читателей, %d поколений: получено %s, "
+                + "повторов и нарушений порядка %s — %s%n",
+            readersCount, generations, Arrays.toString(received),
+            Arrays.toString(wrong), ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+
+    private static boolean testGeneratorIntegrators(int integratorsCount) throws InterruptedException {
+        GenerationBarrier<Task.TaskData> barrier = new GenerationBarrier<>(integratorsCount);
+        Thread generator = new Thread(
+            new BarrierGenerator(barrier, DEMO_TASKS, new RandomTasks(SEED), SourceSink.DISCARD));
+        BarrierIntegrator[] integrators = new BarrierIntegrator[integratorsCount];
+        Thread[] threads = new Thread[integratorsCount];
+        for (int i = 0; i < integratorsCount; i++) {
+            integrators[i] = new BarrierIntegrator(barrier, ResultSink.DISCARD);
+            threads[i] = new Thread(integrators[i]);
+            threads[i].start();
+        }
+        generator.start();
+        boolean finished = joinAll(new Thread[] {generator}) && joinAll(threads);
+
+        boolean ok = finished;
+        int[] completed = new int[integratorsCount];
+        for (int i = 0; i < integratorsCount; i++) {
+            completed[i] = integrators[i].getCompletedTasks();
+            ok &= completed[i] == DEMO_TASKS;
+        }
+        System.out.printf("BarrierGenerator и %d BarrierIntegrator, %d заданий: обработано %s — %s%n",
+            integratorsCount, DEMO_TASKS, Arrays.toString(completed), ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+
+    /**
+     * Ждёт завершения потоков не дольше TIMEOUT_MILLIS.
+     * @return true, если все потоки завершились
+     */
+    private static boolean joinAll(Thread[] threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        boolean finished = true;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            finished &= !thread.isAlive();
+        }
+        return finished;
+    }
+}
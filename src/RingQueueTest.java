@@ -0,0 +1,187 @@
+import threads.MpmcRingQueue;
+import threads.RingQueue;
+import threads.SpscRingQueue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Проверка очередей на кольцевом буфере:
+ * <ul>
+ *     <li>при нескольких производителях и потребителях MpmcRingQueue каждый элемент
+ *     извлекается ровно один раз;</li>
+ *     <li>SpscRingQueue передаёт все элементы в порядке добавления;</li>
+ *     <li>close() будит потребителей, запаркованных в take() на пустой очереди.</li>
+ * </ul>
+ * Аргументы: количество производителей, количество потребителей и количество
+ * элементов у каждого производителя (по умолчанию 4, 4 и 100000).
+ */
+public class RingQueueTest {
+    private static final int CAPACITY = 64;
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int consumers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int perProducer = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        System.out.println("=== ТЕСТИРОВАНИЕ ОЧЕРЕДЕЙ НА КОЛЬЦЕВОМ БУФЕРЕ ===\n");
+
+        boolean passed = true;
+        passed &= testExactlyOnce(producers, consumers, perProducer);
+        passed &= testFifo(producers * perProducer);
+        passed &= testCloseWakesTakers(consumers);
+
+        System.out.println(passed ? "\nТест завершен успешно!" : "\nТест не пройден!");
+    }
+
+    private static boolean testExactlyOnce(int producersCount, int consumersCount, int perProducer)
+            throws InterruptedException {
+        RingQueue<Integer> queue = new MpmcRingQueue<>(CAPACITY);
+        AtomicIntegerArray received = new AtomicIntegerArray(producersCount * perProducer);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        Thread[] producers = new Thread[producersCount];
+        for (int p = 0; p < producersCount; p++) {
+            int first = p * perProducer;
+            producers[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(first + i);
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+        }
+        Thread[] consumers = new Thread[consumersCount];
+        for (int c = 0; c < consumersCount; c++) {
+            consumers[c] = new Thread(() -> {
+                try {
+                    Integer element;
+                    while ((element = queue.take()) != null) {
+                        received.incrementAndGet(element);
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+        }
+        for (Thread consumer : consumers) {
+            consumer.start();
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        queue.close();
+        boolean finished = joinAll(consumers);
+
+        int missing = 0;
+        int duplicated = 0;
+        for (int i = 0; i < received.length(); i++) {
+            if (received.get(i) == 0) {
+                missing++;
+            } else if (received.get(i) > 1) {
+                duplicated++;
+            }
+        }
+        boolean ok = finished && !failed.get() && missing == 0 && duplicated == 0;
+        System.out.printf("MpmcRingQueue, %d производителей x %d потребителей, %d элементов: "
+                + "потеряно %d, получено повторно %d — %s%n",
+            producersCount, consumersCount, received.length(), missing, duplicated, ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+
+    private static boolean testFifo(int count) throws InterruptedException {
+        RingQueue<Integer> queue = new SpscRingQueue<>(CAPACITY);
+        int[] outOfOrder = new int[1];
+        int[] receivedCount = new int[1];
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    queue.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queue.close();
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            try {
+                Integer element;
+                while ((element = queue.take()) != null) {
+                    if (element != receivedCount[0]) {
+                        outOfOrder[0]++;
+                    }
+                    receivedCount[0]++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        producer.start();
+        producer.join();
+        boolean finished = joinAll(new Thread[] {consumer});
+
+        // Результаты потребителя видны после join()
+        boolean ok = finished && receivedCount[0] == count && outOfOrder[0] == 0;
+        System.out.printf("SpscRingQueue, %d элементов: получено %d, не по порядку %d — %s%n",
+            count, receivedCount[0], outOfOrder[0], ok ? "OK" : "ОШИБКА");
+        return ok;
+    }
+
+    private static boolean testCloseWakesTakers(int consumersCount) throws InterruptedException {
+        RingQueue<Integer> queue = new MpmcRingQueue<>(CAPACITY);
+        AtomicBoolean gotElement = new AtomicBoolean();
+        Thread[] consumers = new Thread[consumersCount];
+        for (int c = 0; c < consumersCount; c++) {
+            consumers[c] = new Thread(() -> {
+                try {
+                    if (queue.take() != null) {
+                        gotElement.set(true);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumers[c].start();
+        }
+
+        // Ждём, пока все потребители запаркуются на пустой очереди
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        boolean parked = false;
+        while (!parked && System.currentTimeMillis() < deadline) {
+            parked = true;
+            for (Thread consumer : consumers) {
+                parked &= consumer.getState() == Thread.State.WAITING;
+            }
+            Thread.sleep(1);
+        }
+        queue.close();
+        boolean woken = joinAll(consumers);
+
+        boolean ok = parked && woken && !gotElement.get();
+        System.out.printf("close() при %d запаркованных потребителях: все запаркованы — %s, "
+                + "все проснулись и получили null — %s%n",
+            consumersCount, parked ? "да" : "нет", woken && !gotElement.get() ? "да" : "нет");
+        return ok;
+    }
+
+    /**
+     * Ждёт завершения потоков не дольше TIMEOUT_MILLIS.
+     * @return true, если все потоки завершились
+     */
+    private static boolean joinAll(Thread[] threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        boolean finished = true;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            finished &= !thread.isAlive();
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,102 @@
+import threads.Generator;
+import threads.IntegrationService;
+import threads.Integrator;
+import threads.MpmcRingQueue;
+import threads.RandomTasks;
+import threads.ReadWriteSemaphore;
+import threads.ResultSink;
+import threads.RingQueue;
+import threads.SourceSink;
+import threads.Task;
+import threads.VirtualThreadPipeline;
+import threads.VirtualThreads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение способов решения потока заданий на интегрирование:
+ * пара потоков Generator/Integrator, пул потоков с перехватом заданий
+ * и решение каждого задания в отдельном виртуальном потоке.
+ * Все способы решают одну и ту же последовательность заданий, построенную
+ * по общему начальному значению генератора. Перед измерением каждый способ
+ * выполняется один раз для прогрева JIT-компилятора. Сведения о заданиях
+ * и результаты не выводятся ({@link SourceSink#DISCARD}, {@link ResultSink#DISCARD}),
+ * на консоль попадают только строки о завершении потоков Generator/Integrator.
+ * Аргументы: количество заданий (по умолчанию 1000) и начальное значение
+ * генератора заданий (по умолчанию 42).
+ */
+public class VirtualThreadsTest {
+    private static final long DEFAULT_SEED = 42;
+
+    public static void main(String[] args) {
+        int tasksCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== СРАВНЕНИЕ ПОТОКОВ ПЛАТФОРМЫ И ВИРТУАЛЬНЫХ ПОТОКОВ ===\n");
+        System.out.println("Заданий: " + tasksCount + ", начальное значение: " + seed
+            + ", процессоров: " + processors);
+        System.out.println("Виртуальные потоки " + (VirtualThreads.isSupported()
+            ? "поддерживаются" : "не поддерживаются, используются потоки платформы") + "\n");
+
+        try {
+            // Прогрев: каждый способ выполняется один раз без замера времени
+            runGeneratorIntegrator(tasksCount, seed);
+            runIntegrationService(tasksCount, seed, processors);
+            runPipeline(tasksCount, seed);
+            System.out.println();
+
+            long start = System.nanoTime();
+            long solved = runGeneratorIntegrator(tasksCount, seed);
+            report("Generator/Integrator", solved, start);
+
+            start = System.nanoTime();
+            solved = runIntegrationService(tasksCount, seed, processors);
+            report("IntegrationService (" + processors + " потоков)", solved, start);
+
+            start = System.nanoTime();
+            solved = runPipeline(tasksCount, seed);
+            report(VirtualThreads.isSupported() ? "Виртуальные потоки" : "Пул потоков платформы", solved, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Сравнение прервано");
+        }
+    }
+
+    private static long runGeneratorIntegrator(int tasksCount, long seed) throws InterruptedException {
+        Task task = new Task();
+        task.setTasksCount(tasksCount);
+        ReadWriteSemaphore semaphore = new ReadWriteSemaphore();
+        Generator generator = new Generator(task, semaphore, new RandomTasks(seed), SourceSink.DISCARD);
+        Integrator integrator = new Integrator(task, semaphore, ResultSink.DISCARD);
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+        return tasksCount;
+    }
+
+    private static long runIntegrationService(int tasksCount, long seed, int processors)
+            throws InterruptedException {
+        IntegrationService service = new IntegrationService(processors, ResultSink.DISCARD);
+        RingQueue<Task.TaskData> queue = new MpmcRingQueue<>(1024);
+        service.feedFrom(queue);
+        RandomTasks tasks = new RandomTasks(seed);
+        for (int i = 0; i < tasksCount; i++) {
+            queue.put(tasks.next());
+        }
+        queue.close();
+        service.awaitTermination(1, TimeUnit.HOURS);
+        return service.getCompletedTasks();
+    }
+
+    private static long runPipeline(int tasksCount, long seed) throws InterruptedException {
+        VirtualThreadPipeline pipeline = new VirtualThreadPipeline(10_000, result -> { });
+        return pipeline.run(tasksCount, new RandomTasks(seed));
+    }
+
+    private static void report(String mode, long tasksCount, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-40s заданий: %d, время: %.3f с, заданий в секунду: %.0f%n",
+            mode, tasksCount, seconds, tasksCount / seconds);
+    }
+}
@@ -0,0 +1,334 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Простой набор средств для микробенчмарков без внешних библиотек.
+ * Каждый замер состоит из итераций прогрева и измерения заданной длительности;
+ * количество вызовов операции за итерацию подбирается так, чтобы итерация
+ * длилась не меньше заданного времени. Для каждого замера вычисляются среднее
+ * время вызова, его стандартное отклонение по итерациям, количество байт,
+ * выделенных на вызов (по счётчику выделенной потоком памяти HotSpot), и скорость
+ * выделения памяти. Результаты выводятся в виде таблицы и в формате JSON.
+ * Значения, вычисленные в операции, следует передавать в {@link #consume(double)}
+ * или {@link #consume(Object)}, чтобы JIT-компилятор не удалил вычисления.
+ */
+public class BenchmarkHarness {
+    private static volatile double doubleSink;
+    private static volatile Object objectSink;
+
+    private final String suite;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /**
+     * Операция, выполняемая заданное количество раз.
+     */
+    public interface Operation {
+        /**
+         * Выполняет операцию.
+         * @param invocations количество вызовов
+         * @throws Exception если операция завершилась ошибкой
+         */
+        void run(long invocations) throws Exception;
+    }
+
+    /**
+     * Создаёт набор замеров.
+     * @param suite название набора
+     * @param warmupIterations количество итераций прогрева
+     * @param measurementIterations количество итераций измерения
+     * @param iterationMillis минимальная длительность итерации в миллисекундах
+     */
+    public BenchmarkHarness(String suite, int warmupIterations, int measurementIterations, long iterationMillis) {
+        if (warmupIterations < 0 || measurementIterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("Invalid iteration settings");
+        }
+        this.suite = suite;
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.allocationBean = (com.sun.management.ThreadMXBean) bean;
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.allocationBean = null;
+        }
+    }
+
+    /**
+     * Создаёт набор замеров с настройками, заданными системными свойствами
+     * bench.warmup, bench.iterations и bench.time (по умолчанию 3, 5 и 200 мс).
+     * @param suite название набора
+     * @return набор замеров
+     */
+    public static BenchmarkHarness fromSystemProperties(String suite) {
+        return new BenchmarkHarness(suite,
+            Integer.getInteger("bench.warmup", 3),
+            Integer.getInteger("bench.iterations", 5),
+            Long.getLong("bench.time", 200L));
+    }
+
+    /**
+     * Сохраняет значение, не давая JIT-компилятору удалить его вычисление.
+     * @param value значение
+     */
+    public static void consume(double value) {
+        doubleSink = value;
+    }
+
+    /**
+     * Сохраняет ссылку, не давая JIT-компилятору удалить её вычисление.
+     * @param value значение
+     */
+    public static void consume(Object value) {
+        objectSink = value;
+    }
+
+    /**
+     * Выполняет замер операции и выводит строку с результатом.
+     * @param benchmark название замера
+     * @param params параметры замера в виде чередующихся имён и значений
+     * @param operation операция
+     * @return результат замера
+     */
+    public Result run(String benchmark, Object[] params, Operation operation) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < params.length; i += 2) {
+            parameters.put(String.valueOf(params[i]), String.valueOf(params[i + 1]));
+        }
+        try {
+            long invocations = calibrate(operation);
+            for (int i = 0; i < warmupIterations; i++) {
+                operation.run(invocations);
+            }
+            double[] nanosPerOp = new double[measurementIterations];
+            double bytes = 0;
+            double nanos = 0;
+            for (int i = 0; i < measurementIterations; i++) {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                operation.run(invocations);
+                long elapsed = System.nanoTime() - start;
+                long allocatedAfter = allocatedBytes();
+                nanosPerOp[i] = (double) elapsed / invocations;
+                bytes += allocatedAfter - allocatedBefore;
+                nanos += elapsed;
+            }
+            Result result = new Result(suite, benchmark, parameters, mean(nanosPerOp), deviation(nanosPerOp),
+                allocationBean == null ? Double.NaN : bytes / (invocations * (double) measurementIterations),
+                allocationBean == null ? Double.NaN : bytes / (nanos / 1e9) / (1 << 20),
+                invocations * (long) measurementIterations);
+            results.add(result);
+            System.out.println(result);
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + benchmark + " " + parameters + " failed", e);
+        }
+    }
+
+    /**
+     * Возвращает результаты выполненных замеров.
+     * @return список результатов
+     */
+    public List<Result> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Возвращает результаты в формате JSON.
+     * @return массив JSON с результатами
+     */
+    public String toJson() {
+        return toJson(results);
+    }
+
+    /**
+     * Выводит результаты в формате JSON в файл или, если имя файла не задано,
+     * в стандартный поток вывода.
+     * @param fileName имя файла или null
+     * @throws IOException если файл не удаётся записать
+     */
+    public void writeJson(String fileName) throws IOException {
+        writeJson(toJson(), fileName);
+    }
+
+    /**
+     * Выводит текст JSON в файл или в стандартный поток вывода.
+     * @param json текст JSON
+     * @param fileName имя файла или null
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void writeJson(String json, String fileName) throws IOException {
+        if (fileName == null) {
+            System.out.println(json);
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            out.write(json);
+            out.write('\n');
+        }
+        System.out.println("Результаты записаны в " + fileName);
+    }
+
+    /**
+     * Возвращает список результатов в формате JSON.
+     * @param results результаты
+     * @return массив JSON
+     */
+    public static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append("  ").append(results.get(i).toJson());
+            json.append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Заключает строку в кавычки JSON.
+     * @param value строка
+     * @return строка JSON
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Записывает число в формате JSON (NaN и бесконечности записываются как null).
+     * @param value число
+     * @return число JSON
+     */
+    static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "null";
+        }
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Подбирает количество вызовов, при котором итерация длится не меньше заданного времени.
+     */
+    private long calibrate(Operation operation) throws Exception {
+        long invocations = 1;
+        while (true) {
+            long start = System.nanoTime();
+            operation.run(invocations);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= iterationNanos || invocations >= (1L << 40)) {
+                return invocations;
+            }
+            if (elapsed < iterationNanos / 10) {
+                invocations *= 10;
+            } else {
+                return Math.max(invocations, (long) Math.ceil((double) invocations * iterationNanos / elapsed));
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        return allocationBean == null ? 0 : allocationBean.getCurrentThreadAllocatedBytes();
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double deviation(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(sum / (values.length - 1));
+    }
+
+    /**
+     * Результат одного замера.
+     */
+    public static final class Result {
+        public final String suite;
+        public final String benchmark;
+        public final Map<String, String> params;
+        public final double nanosPerOp;
+        public final double nanosPerOpDeviation;
+        public final double bytesPerOp;
+        public final double allocationRateMb;
+        public final long invocations;
+
+        Result(String suite, String benchmark, Map<String, String> params, double nanosPerOp,
+               double nanosPerOpDeviation, double bytesPerOp, double allocationRateMb, long invocations) {
+            this.suite = suite;
+            this.benchmark = benchmark;
+            this.params = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+            this.nanosPerOp = nanosPerOp;
+            this.nanosPerOpDeviation = nanosPerOpDeviation;
+            this.bytesPerOp = bytesPerOp;
+            this.allocationRateMb = allocationRateMb;
+            this.invocations = invocations;
+        }
+
+        /**
+         * Возвращает результат в виде объекта JSON.
+         * @return объект JSON
+         */
+        public String toJson() {
+            StringBuilder json = new StringBuilder("{");
+            json.append("\"suite\": ").append(quote(suite));
+            json.append(", \"benchmark\": ").append(quote(benchmark));
+            json.append(", \"params\": {");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : params.entrySet()) {
+                json.append(first ? "" : ", ").append(quote(entry.getKey())).append(": ").append(quote(entry.getValue()));
+                first = false;
+            }
+            json.append("}");
+            json.append(", \"nsPerOp\": ").append(number(nanosPerOp));
+            json.append(", \"nsPerOpError\": ").append(number(nanosPerOpDeviation));
+            json.append(", \"bytesPerOp\": ").append(number(bytesPerOp));
+            json.append(", \"allocRateMBps\": ").append(number(allocationRateMb));
+            json.append(", \"invocations\": ").append(invocations);
+            return json.append('}').toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-22s %-40s %14.1f ± %-10.1f ns/op %12.1f B/op %10.1f MB/s",
+                suite, benchmark + " " + params.values(), nanosPerOp, nanosPerOpDeviation, bytesPerOp, allocationRateMb);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package benchmarks;
+
+import functions.Function;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+import functions.meta.Composition;
+import functions.meta.Mult;
+import functions.meta.Power;
+import functions.meta.Scale;
+import functions.meta.Shift;
+import functions.meta.Sum;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Замеры стоимости вычисления деревьев функций из пакета functions.meta.
+ * Случайные деревья строятся из узлов Shift, Scale, Power (один потомок) и Sum, Mult,
+ * Composition (fanOut потомков, объединённых цепочкой узлов одного типа) над листьями
+ * из пакета functions.basic; при заданном начальном значении деревья воспроизводимы.
+ * Для каждого дерева измеряются время вычисления значения и время вычисления
+ * границ области определения. Отдельно измеряются цепочки Scale и Shift заданной
+ * глубины и вызов getFunctionValue в одном месте программы для 1, 2, 4 и 8 разных
+ * классов получателя (мономорфный, биморфный и мегаморфный вызов).
+ * Профиль типов JIT-компилятора общий для всех замеров процесса, поэтому замеры
+ * вызовов выполняются первыми, пока профиль не засорён деревьями.
+ * Аргументы: глубины через запятую (по умолчанию 1,2,4,8,12), значения fanOut
+ * через запятую (по умолчанию 1,2,3), начальное значение генератора (по умолчанию 7)
+ * и имя файла для результатов в формате JSON (по умолчанию стандартный поток вывода).
+ * Деревья больше MAX_NODES узлов пропускаются.
+ * Настройки итераций задаются системными свойствами bench.warmup, bench.iterations, bench.time.
+ */
+public class MetaTreeBenchmark {
+    private static final int PROBES = 1024;
+    private static final int MAX_NODES = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        int[] depths = parseList(args.length > 0 ? args[0] : "1,2,4,8,12");
+        int[] fanOuts = parseList(args.length > 1 ? args[1] : "1,2,3");
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 7;
+        String output = args.length > 3 ? args[3] : null;
+        BenchmarkHarness harness = BenchmarkHarness.fromSystemProperties("metaTree");
+
+        callSites(harness);
+
+        for (int depth : depths) {
+            measure(harness, "scaleChain", depth, 1, chain(depth, true));
+            measure(harness, "shiftChain", depth, 1, chain(depth, false));
+        }
+        for (int fanOut : fanOuts) {
+            for (int depth : depths) {
+                Random random = new Random(seed ^ (depth * 31L + fanOut));
+                int[] nodes = new int[1];
+                Function tree = randomTree(random, depth, fanOut, nodes);
+                if (nodes[0] > MAX_NODES) {
+                    System.out.printf("Дерево глубины %d с fanOut %d пропущено: %d узлов%n", depth, fanOut, nodes[0]);
+                    continue;
+                }
+                measure(harness, "randomTree", depth, fanOut, tree);
+            }
+        }
+        harness.writeJson(output);
+    }
+
+    /**
+     * Вызов getFunctionValue в одном месте программы для разного количества классов получателя.
+     */
+    private static void callSites(BenchmarkHarness harness) {
+        Function[] receivers = {new Sin(), new Cos(), new Exp(), new Tan(),
+            new Shift(new Sin(), 1, 1), new Scale(new Sin(), 2, 2), new Power(new Sin(), 2), new Log(2)};
+        double[] xs = probes(new Random(1), 0.5, 1.5);
+        for (int types : new int[] {1, 2, 4, 8}) {
+            Function[] sites = new Function[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                sites[i] = receivers[i % types];
+            }
+            harness.run("callSite", new Object[] {"receiverTypes", types}, n -> {
+                double sum = 0;
+                for (long i = 0; i < n; i++) {
+                    int k = (int) i & (PROBES - 1);
+                    sum += sites[k].getFunctionValue(xs[k]);
+                }
+                BenchmarkHarness.consume(sum);
+            });
+        }
+    }
+
+    private static void measure(BenchmarkHarness harness, String shape, int depth, int fanOut, Function tree) {
+        int nodes = countNodes(tree);
+        double left = tree.getLeftDomainBorder();
+        double right = tree.getRightDomainBorder();
+        // Аргументы выбираются внутри области определения, но не дальше 10 от нуля
+        double from = Math.max(left, -10);
+        double to = Math.min(right, 10);
+        if (!(from <= to)) {
+            from = -10;
+            to = 10;
+        }
+        double[] xs = probes(new Random(depth * 131L + fanOut), from, to);
+        Object[] params = {"shape", shape, "depth", depth, "fanOut", fanOut, "nodes", nodes};
+
+        harness.run("evaluate", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += tree.getFunctionValue(xs[(int) i & (PROBES - 1)]);
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("domainBorders", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += tree.getLeftDomainBorder() + tree.getRightDomainBorder();
+            }
+            BenchmarkHarness.consume(sum);
+        });
+    }
+
+    private static Function chain(int depth, boolean scale) {
+        Function function = new Sin();
+        for (int i = 0; i < depth; i++) {
+            function = scale ? new Scale(function, 1.0001, 0.9999) : new Shift(function, 0.001, 0.001);
+        }
+        return function;
+    }
+
+    private static Function randomTree(Random random, int depth, int fanOut, int[] nodes) {
+        nodes[0]++;
+        if (depth == 0 || nodes[0] > MAX_NODES) {
+            switch (random.nextInt(5)) {
+                case 0: return new Sin();
+                case 1: return new Cos();
+                case 2: return new Exp();
+                case 3: return new Tan();
+                default: return new Log(2 + random.nextInt(8));
+            }
+        }
+        int kind = random.nextInt(6);
+        if (kind < 3 || fanOut == 1) {
+            Function child = randomTree(random, depth - 1, fanOut, nodes);
+            switch (kind % 3) {
+                case 0: return new Shift(child, random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+                case 1: return new Scale(child, 0.5 + random.nextDouble(), 0.5 + random.nextDouble());
+                default: return new Power(child, 1 + random.nextInt(3));
+            }
+        }
+        Function result = randomTree(random, depth - 1, fanOut, nodes);
+        for (int i = 1; i < fanOut; i++) {
+            Function child = randomTree(random, depth - 1, fanOut, nodes);
+            switch (kind) {
+                case 3: result = new Sum(result, child); break;
+                case 4: result = new Mult(result, child); break;
+                default: result = new Composition(result, child); break;
+            }
+            nodes[0]++;
+        }
+        return result;
+    }
+
+    /**
+     * Считает узлы дерева по полям объектов, так как классы пакета functions.meta
+     * не предоставляют доступа к потомкам.
+     */
+    private static int countNodes(Function function) {
+        int count = 1;
+        for (Class<?> type = function.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (java.lang.reflect.Field field : type.getDeclaredFields()) {
+                if (Function.class.isAssignableFrom(field.getType())
+                        && !java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    try {
+                        Object child = field.get(function);
+                        if (child != null) {
+                            count += countNodes((Function) child);
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static double[] probes(Random random, double from, double to) {
+        double[] xs = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            xs[i] = from + random.nextDouble() * (to - from);
+        }
+        return xs;
+    }
+
+    private static int[] parseList(String text) {
+        String[] parts = text.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+            if (values[i] < 1) {
+                throw new IllegalArgumentException("Values must be positive");
+            }
+        }
+        return values;
+    }
+}
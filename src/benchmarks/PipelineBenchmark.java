@@ -0,0 +1,318 @@
+package benchmarks;
+
+import functions.Function;
+import threads.BatchGenerator;
+import threads.BatchIntegrator;
+import threads.Generator;
+import threads.IntegrationProcessor;
+import threads.IntegrationService;
+import threads.Integrator;
+import threads.MpmcRingQueue;
+import threads.QueueGenerator;
+import threads.QueueIntegrator;
+import threads.RandomTasks;
+import threads.ReadWriteSemaphore;
+import threads.ResultSink;
+import threads.RingQueue;
+import threads.SimpleGenerator;
+import threads.SimpleIntegrator;
+import threads.SinkSubscriber;
+import threads.SourceSink;
+import threads.SpscRingQueue;
+import threads.Task;
+import threads.TaskBatch;
+import threads.TaskPublisher;
+import threads.VirtualThreadPipeline;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сквозной замер конвейера генерации и решения заданий без вывода на консоль.
+ * Для каждого способа взаимодействия потоков решается одна и та же воспроизводимая
+ * последовательность заданий (RandomTasks с фиксированным начальным значением),
+ * результаты отбрасываются. Измеряются:
+ * <ul>
+ *     <li>пропускная способность — заданий в секунду;</li>
+ *     <li>задержка передачи — время от создания задания генератором до начала
+ *     его решения (50-й, 99-й и 99,9-й процентили, мкс). Для этого функция задания
+ *     оборачивается объектом, запоминающим время создания и время первого вызова;
+ *     в пакетном режиме функции создаются интегратором, и задержка не измеряется;</li>
+ *     <li>процессорное время на одно задание, мкс. Это время всего процесса, то есть
+ *     в него входит и работа потоков JIT-компилятора и сборщика мусора; поэтому
+ *     в JSON рядом выводятся время сборки мусора и время JIT-компиляции за тот же замер.</li>
+ * </ul>
+ * Генераторы получают {@link SourceSink#DISCARD}, так что строки Source не форматируются
+ * и не выводятся. В пустой поток направляются только итоговые сообщения потоков,
+ * выводимые один раз за запуск. Перед замером каждый способ прогоняется на отдельной
+ * порции заданий, чтобы код интегрирования и синхронизации был скомпилирован C2.
+ * Аргументы: количество заданий (по умолчанию 2000), имя файла для результатов
+ * в формате JSON (по умолчанию стандартный поток вывода, "-" — тоже он) и количество
+ * заданий прогрева (по умолчанию 5000).
+ */
+public class PipelineBenchmark {
+    private static final long SEED = 42;
+    private static final int DEFAULT_WARMUP_TASKS = 5000;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Способ взаимодействия генератора и интеграторов.
+     */
+    private interface Strategy {
+        void run(int tasksCount, RandomTasks tasks) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasksCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        String output = args.length > 1 && !args[1].equals("-") ? args[1] : null;
+        int warmupTasks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_WARMUP_TASKS;
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        List<String> names = new ArrayList<>();
+        List<Strategy> strategies = new ArrayList<>();
+
+        names.add("semaphore");
+        strategies.add((count, tasks) -> {
+            Task task = new Task();
+            task.setTasksCount(count);
+            ReadWriteSemaphore semaphore = new ReadWriteSemaphore();
+            Generator generator = new Generator(task, semaphore, tasks, SourceSink.DISCARD);
+            Integrator integrator = new Integrator(task, semaphore, ResultSink.DISCARD);
+            generator.start();
+            integrator.start();
+            generator.join();
+            integrator.join();
+        });
+
+        names.add("monitor");
+        strategies.add((count, tasks) -> {
+            Task task = new Task();
+            task.setTasksCount(count);
+            Thread generator = new Thread(new SimpleGenerator(task, tasks, SourceSink.DISCARD));
+            Thread integrator = new Thread(new SimpleIntegrator(task, ResultSink.DISCARD));
+            generator.start();
+            integrator.start();
+            generator.join();
+            integrator.join();
+        });
+
+        names.add("spscQueue");
+        strategies.add((count, tasks) -> {
+            RingQueue<Task.TaskData> queue = new SpscRingQueue<>(QUEUE_CAPACITY);
+            Thread generator = new Thread(new QueueGenerator(queue, count, tasks, SourceSink.DISCARD));
+            Thread integrator = new Thread(new QueueIntegrator(queue, ResultSink.DISCARD));
+            generator.start();
+            integrator.start();
+            generator.join();
+            integrator.join();
+        });
+
+        names.add("batchQueue");
+        strategies.add((count, tasks) -> {
+            RingQueue<TaskBatch> queue = new SpscRingQueue<>(QUEUE_CAPACITY / BATCH_SIZE);
+            Thread generator = new Thread(new BatchGenerator(queue, count, BATCH_SIZE, tasks, SourceSink.DISCARD));
+            Thread integrator = new Thread(new BatchIntegrator(queue, ResultSink.DISCARD));
+            generator.start();
+            integrator.start();
+            generator.join();
+            integrator.join();
+        });
+
+        names.add("workStealing");
+        strategies.add((count, tasks) -> {
+            IntegrationService service = new IntegrationService(workers, ResultSink.DISCARD);
+            RingQueue<Task.TaskData> queue = new MpmcRingQueue<>(QUEUE_CAPACITY);
+            Thread generator = new Thread(new QueueGenerator(queue, count, tasks, SourceSink.DISCARD));
+            generator.start();
+            service.feedFrom(queue);
+            generator.join();
+            service.awaitTermination(1, TimeUnit.HOURS);
+        });
+
+        names.add("virtualThreads");
+        strategies.add((count, tasks) ->
+            new VirtualThreadPipeline(QUEUE_CAPACITY, (result) -> { }).run(count, tasks));
+
+        names.add("flow");
+        strategies.add((count, tasks) -> {
+            Executor executor = ForkJoinPool.getCommonPoolParallelism() > 1
+                ? ForkJoinPool.commonPool() : runnable -> new Thread(runnable).start();
+            IntegrationProcessor processor = new IntegrationProcessor(executor, 256, BATCH_SIZE);
+            SinkSubscriber subscriber = new SinkSubscriber(ResultSink.DISCARD, BATCH_SIZE);
+            processor.subscribe(subscriber);
+            new TaskPublisher(count, () -> tasks, executor).subscribe(processor);
+            subscriber.await();
+        });
+
+        List<String> json = new ArrayList<>();
+        PrintStream console = System.out;
+        console.printf("Заданий: %d, прогрев: %d, потоков-интеграторов в пуле: %d%n%n",
+            tasksCount, warmupTasks, workers);
+        for (int i = 0; i < strategies.size(); i++) {
+            Strategy strategy = strategies.get(i);
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                strategy.run(warmupTasks, new StampedTasks(SEED));
+                StampedTasks tasks = new StampedTasks(SEED);
+                long gcBefore = gcMillis();
+                long jitBefore = jitMillis();
+                long cpuBefore = processCpuTime();
+                long start = System.nanoTime();
+                strategy.run(tasksCount, tasks);
+                long elapsed = System.nanoTime() - start;
+                long cpu = processCpuTime() - cpuBefore;
+                long gc = gcMillis() - gcBefore;
+                long jit = jitBefore < 0 ? -1 : jitMillis() - jitBefore;
+                System.setOut(console);
+
+                double seconds = elapsed / 1e9;
+                double[] latencies = tasks.latenciesMicros();
+                double p50 = percentile(latencies, 0.50);
+                double p99 = percentile(latencies, 0.99);
+                double p999 = percentile(latencies, 0.999);
+                double cpuPerTask = cpu < 0 ? Double.NaN : cpu / 1e3 / tasksCount;
+                console.printf(Locale.ROOT,
+                    "%-16s %10.0f заданий/с  задержка p50 %9.1f  p99 %9.1f  p99.9 %9.1f мкс  CPU %8.1f мкс/задание%n",
+                    names.get(i), tasksCount / seconds, p50, p99, p999, cpuPerTask);
+                json.add("{\"strategy\": " + BenchmarkHarness.quote(names.get(i))
+                    + ", \"tasks\": " + tasksCount
+                    + ", \"seed\": " + SEED
+                    + ", \"warmupTasks\": " + warmupTasks
+                    + ", \"seconds\": " + BenchmarkHarness.number(seconds)
+                    + ", \"tasksPerSecond\": " + BenchmarkHarness.number(tasksCount / seconds)
+                    + ", \"handoffLatencyMicros\": {\"p50\": " + BenchmarkHarness.number(p50)
+                    + ", \"p99\": " + BenchmarkHarness.number(p99)
+                    + ", \"p999\": " + BenchmarkHarness.number(p999) + "}"
+                    + ", \"cpuMicrosPerTask\": " + BenchmarkHarness.number(cpuPerTask)
+                    + ", \"cpuScope\": \"process, including JIT compiler and GC threads\""
+                    + ", \"gcMillis\": " + gc
+                    + ", \"jitMillis\": " + jit + "}");
+            } finally {
+                System.setOut(console);
+            }
+        }
+        BenchmarkHarness.writeJson("[\n  " + String.join(",\n  ", json) + "\n]", output);
+    }
+
+    private static long processCpuTime() {
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Суммарное время сборок мусора с запуска JVM, мс.
+     */
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Суммарное время JIT-компиляции с запуска JVM, мс; -1, если оно не отслеживается.
+     */
+    private static long jitMillis() {
+        CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+        return bean != null && bean.isCompilationTimeMonitoringSupported() ? bean.getTotalCompilationTime() : -1;
+    }
+
+    private static double percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Источник заданий, оборачивающий функцию каждого задания в {@link StampedFunction}.
+     * Используется одним потоком-генератором.
+     */
+    private static final class StampedTasks extends RandomTasks {
+        private final List<StampedFunction> functions = new ArrayList<>();
+
+        StampedTasks(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public Task.TaskData next() {
+            Task.TaskData data = super.next();
+            StampedFunction function = new StampedFunction(data.function);
+            functions.add(function);
+            return new Task.TaskData(function, data.leftBound, data.rightBound, data.step);
+        }
+
+        /**
+         * Возвращает упорядоченные задержки начала решения заданий.
+         * Вызывается после завершения всех потоков конвейера.
+         */
+        double[] latenciesMicros() {
+            double[] latencies = new double[functions.size()];
+            int count = 0;
+            for (StampedFunction function : functions) {
+                if (function.startedNanos != 0) {
+                    latencies[count++] = (function.startedNanos - function.createdNanos) / 1e3;
+                }
+            }
+            latencies = Arrays.copyOf(latencies, count);
+            Arrays.sort(latencies);
+            return latencies;
+        }
+    }
+
+    /**
+     * Функция, запоминающая время создания и время первого обращения к ней.
+     * Время первого обращения записывает поток, решающий задание; оно читается
+     * после завершения этого потока.
+     */
+    private static final class StampedFunction implements Function {
+        final Function function;
+        final long createdNanos = System.nanoTime();
+        long startedNanos;
+
+        StampedFunction(Function function) {
+            this.function = function;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            mark();
+            return function.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            mark();
+            return function.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            mark();
+            return function.getFunctionValue(x);
+        }
+
+        private void mark() {
+            if (startedNanos == 0) {
+                startedNanos = System.nanoTime();
+            }
+        }
+    }
+}
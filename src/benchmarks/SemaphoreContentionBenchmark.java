@@ -0,0 +1,162 @@
+package benchmarks;
+
+import threads.QueuedReadWriteSemaphore;
+import threads.ReadWriteSemaphore;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Сравнение пропускной способности семафоров чтения-записи при конкуренции потоков:
+ * ReadWriteSemaphore на мониторе и QueuedReadWriteSemaphore в обоих режимах.
+ * Читатели и писатели в течение заданного времени захватывают семафор и выполняют
+ * короткую операцию; одновременно проверяется, что писатель всегда работает один.
+ * Аргументы: количество читателей, количество писателей, длительность замера в миллисекундах
+ * (по умолчанию 4, 2 и 2000).
+ */
+public class SemaphoreContentionBenchmark {
+    private static final int WORK = 50;
+    // Приёмник результатов spin(), не дающий JIT-компилятору удалить вычисления
+    private static volatile long sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long durationMillis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+
+        System.out.printf("Читателей: %d, писателей: %d, длительность: %d мс%n%n", readers, writers, durationMillis);
+        for (int round = 0; round < 2; round++) {
+            // Первый проход прогревает JIT-компилятор
+            boolean report = round == 1;
+            run("ReadWriteSemaphore", ReadWriteSemaphore::new, readers, writers, durationMillis, report);
+            run("Queued WRITER_PREFERRING",
+                () -> new QueuedReadWriteSemaphore(QueuedReadWriteSemaphore.Mode.WRITER_PREFERRING),
+                readers, writers, durationMillis, report);
+            run("Queued FAIR", () -> new QueuedReadWriteSemaphore(QueuedReadWriteSemaphore.Mode.FAIR),
+                readers, writers, durationMillis, report);
+        }
+    }
+
+    private static void run(String name, Supplier<ReadWriteSemaphore> factory, int readersCount, int writersCount,
+                            long durationMillis, boolean report) throws InterruptedException {
+        ReadWriteSemaphore semaphore = factory.get();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        long[] readOps = new long[readersCount];
+        long[] writeOps = new long[writersCount];
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        Thread[] threads = new Thread[readersCount + writersCount];
+
+        for (int i = 0; i < readersCount; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                await(start);
+                long ops = 0;
+                long checksum = 0;
+                try {
+                    while (System.nanoTime() < deadline[0]) {
+                        semaphore.startRead();
+                        try {
+                            if (active.incrementAndGet() < 0) {
+                                violations.incrementAndGet();
+                            }
+                            checksum = spin(checksum);
+                            active.decrementAndGet();
+                        } finally {
+                            semaphore.endRead();
+                        }
+                        ops++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                readOps[index] = ops;
+                sink = checksum;
+            });
+        }
+        for (int i = 0; i < writersCount; i++) {
+            int index = i;
+            threads[readersCount + i] = new Thread(() -> {
+                await(start);
+                long ops = 0;
+                long checksum = 0;
+                try {
+                    while (System.nanoTime() < deadline[0]) {
+                        semaphore.startWrite();
+                        try {
+                            // Писатель помечает себя большим отрицательным числом
+                            if (!active.compareAndSet(0, -1_000_000)) {
+                                violations.incrementAndGet();
+                            }
+                            checksum = spin(checksum);
+                            active.set(0);
+                        } finally {
+                            semaphore.endWrite();
+                        }
+                        ops++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writeOps[index] = ops;
+                sink = checksum;
+            });
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        deadline[0] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (report) {
+            long reads = sum(readOps);
+            long writes = sum(writeOps);
+            double seconds = durationMillis / 1000.0;
+            System.out.printf("%-26s чтений/с: %12.0f  записей/с: %12.0f  (мин. у писателя: %d)  нарушений: %d%n",
+                name, reads / seconds, writes / seconds, min(writeOps), violations.get());
+        }
+    }
+
+    /**
+     * Короткая операция под семафором. Результат зависит от предыдущего, поэтому
+     * цикл нельзя свернуть в константу, а итог потока сохраняется в sink.
+     */
+    private static long spin(long seed) {
+        long x = seed;
+        for (int i = 0; i < WORK; i++) {
+            x = x * 31 + i;
+        }
+        return x;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static long min(long[] values) {
+        long min = Long.MAX_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+        }
+        return values.length == 0 ? 0 : min;
+    }
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.LinkedListTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctionFactory;
+import functions.TabulatedFunctions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Замеры записи и чтения табулированных функций в разных форматах:
+ * стандартная сериализация (Serializable у функции на массиве, Externalizable
+ * у функции на связном списке), двоичный формат outputTabulatedFunction/inputTabulatedFunction
+ * и текстовый формат writeTabulatedFunction/readTabulatedFunction.
+ * Запись выполняется в память, поэтому измеряется только кодирование. Размер
+ * закодированной функции в байтах указывается в параметрах замера.
+ * Аргументы: размеры таблиц через запятую (по умолчанию 10,1000,100000)
+ * и имя файла для результатов в формате JSON (по умолчанию стандартный поток вывода).
+ * Настройки итераций задаются системными свойствами bench.warmup, bench.iterations, bench.time.
+ */
+public class SerializationBenchmark {
+    public static void main(String[] args) throws Exception {
+        int[] sizes = TabulatedFunctionBenchmark.parseSizes(args.length > 0 ? args[0] : "10,1000,100000");
+        String output = args.length > 1 ? args[1] : null;
+        BenchmarkHarness harness = BenchmarkHarness.fromSystemProperties("serialization");
+
+        for (int size : sizes) {
+            double[] values = new double[size];
+            // Значения от 1 до 3: текстовый формат на StreamTokenizer не читает экспоненциальную запись
+            for (int i = 0; i < size; i++) {
+                values[i] = 2.0 + Math.sin(i * 0.001);
+            }
+            run(harness, "array", new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory(), values);
+            run(harness, "linkedList", new LinkedListTabulatedFunction.LinkedListTabulatedFunctionFactory(), values);
+        }
+        TabulatedFunctions.setTabulatedFunctionFactory(new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory());
+        harness.writeJson(output);
+    }
+
+    private static void run(BenchmarkHarness harness, String backend, TabulatedFunctionFactory factory,
+                            double[] values) throws Exception {
+        TabulatedFunction function = factory.createTabulatedFunction(0, values.length - 1, values);
+        String objectFormat = function instanceof java.io.Externalizable ? "externalizable" : "serializable";
+
+        byte[] serialized = serialize(function);
+        harness.run("write", params(backend, values.length, objectFormat, serialized.length), n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(serialize(function));
+            }
+        });
+        harness.run("read", params(backend, values.length, objectFormat, serialized.length), n -> {
+            for (long i = 0; i < n; i++) {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    BenchmarkHarness.consume(in.readObject());
+                }
+            }
+        });
+
+        byte[] binary = output(function);
+        harness.run("write", params(backend, values.length, "outputTabulatedFunction", binary.length), n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(output(function));
+            }
+        });
+        harness.run("read", params(backend, values.length, "inputTabulatedFunction", binary.length), n -> {
+            TabulatedFunctions.setTabulatedFunctionFactory(factory);
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary)));
+            }
+        });
+
+        String text = write(function);
+        harness.run("write", params(backend, values.length, "writeTabulatedFunction", text.length()), n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(write(function));
+            }
+        });
+        harness.run("read", params(backend, values.length, "readTabulatedFunction", text.length()), n -> {
+            TabulatedFunctions.setTabulatedFunctionFactory(factory);
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(TabulatedFunctions.readTabulatedFunction(new StringReader(text)));
+            }
+        });
+    }
+
+    private static Object[] params(String backend, int size, String format, int encodedBytes) {
+        return new Object[] {"backend", backend, "size", size, "format", format, "encodedBytes", encodedBytes};
+    }
+
+    private static byte[] serialize(TabulatedFunction function) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(function);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] output(TabulatedFunction function) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TabulatedFunctions.outputTabulatedFunction(function, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static String write(TabulatedFunction function) throws IOException {
+        StringWriter writer = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunction(function, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.FunctionPoint;
+import functions.LinkedListTabulatedFunction;
+import functions.PointConsumer;
+import functions.PointCursor;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctionFactory;
+import functions.TabulatedFunctions;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Замеры операций табулированных функций на массиве и на связном списке.
+ * Для каждого размера таблицы измеряются вычисление значения в случайных
+ * и упорядоченных точках, доступ к точке по номеру, обход итератором, курсором
+ * и методом forEachPoint, сумма и параллельный максимум потока ординат,
+ * добавление и удаление точки, вставка 1000 точек по одной и пакетом
+ * (для таблиц до 100000 точек), клонирование, equals и hashCode,
+ * а также создание функции через фабрику и через рефлексию.
+ * Аргументы: размеры таблиц через запятую (по умолчанию 10,1000,100000,1000000)
+ * и имя файла для результатов в формате JSON (по умолчанию стандартный поток вывода).
+ * Для таблиц из 10^7 точек нужна куча не меньше 4 ГБ (-Xmx4g).
+ * Настройки итераций задаются системными свойствами bench.warmup, bench.iterations, bench.time.
+ */
+public class TabulatedFunctionBenchmark {
+    private static final int PROBES = 1024;
+    private static final long SEED = 20251;
+    private static final int BULK_POINTS = 1000;
+    // Поточечная вставка в связный список из 10^6 точек слишком медленна для замера
+    private static final int BULK_MAX_SIZE = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = parseSizes(args.length > 0 ? args[0] : "10,1000,100000,1000000");
+        String output = args.length > 1 ? args[1] : null;
+        BenchmarkHarness harness = BenchmarkHarness.fromSystemProperties("tabulated");
+
+        for (int size : sizes) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Math.sin(i * 0.001);
+            }
+            run(harness, "array", new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory(),
+                ArrayTabulatedFunction.class, values);
+            run(harness, "linkedList", new LinkedListTabulatedFunction.LinkedListTabulatedFunctionFactory(),
+                LinkedListTabulatedFunction.class, values);
+        }
+        TabulatedFunctions.setTabulatedFunctionFactory(new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory());
+        harness.writeJson(output);
+    }
+
+    private static void run(BenchmarkHarness harness, String backend, TabulatedFunctionFactory factory,
+                            Class<? extends TabulatedFunction> type, double[] values) {
+        int size = values.length;
+        double rightX = size - 1;
+        TabulatedFunction function = factory.createTabulatedFunction(0, rightX, values);
+        TabulatedFunction copy = (TabulatedFunction) function.clone();
+
+        Random random = new Random(SEED);
+        double[] randomXs = new double[PROBES];
+        int[] randomIndices = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            randomXs[i] = random.nextDouble() * rightX;
+            randomIndices[i] = random.nextInt(size);
+        }
+        double[] sortedXs = randomXs.clone();
+        Arrays.sort(sortedXs);
+        // Новая точка в середине таблицы: худший случай для сдвига массива
+        int middle = (size - 1) / 2;
+        FunctionPoint inserted = new FunctionPoint(middle + 0.5, 0.0);
+
+        Object[] params = {"backend", backend, "size", size};
+
+        harness.run("getFunctionValue.random", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += function.getFunctionValue(randomXs[(int) i & (PROBES - 1)]);
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("getFunctionValue.sorted", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += function.getFunctionValue(sortedXs[(int) i & (PROBES - 1)]);
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("getPointY.random", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += function.getPointY(randomIndices[(int) i & (PROBES - 1)]);
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("getPoint.random", params, n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(function.getPoint(randomIndices[(int) i & (PROBES - 1)]));
+            }
+        });
+        harness.run("iterate", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                for (FunctionPoint point : function) {
+                    sum += point.getY();
+                }
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("cursor", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                PointCursor cursor = function.cursor();
+                while (cursor.advance()) {
+                    sum += cursor.y();
+                }
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        double[] total = new double[1];
+        PointConsumer accumulate = (x, y) -> total[0] += y;
+        harness.run("forEachPoint", params, n -> {
+            for (long i = 0; i < n; i++) {
+                function.forEachPoint(accumulate);
+            }
+            BenchmarkHarness.consume(total[0]);
+        });
+        harness.run("ys.sum", params, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += function.ys().sum();
+            }
+            BenchmarkHarness.consume(sum);
+        });
+        harness.run("ys.parallel.max", params, n -> {
+            double max = 0;
+            for (long i = 0; i < n; i++) {
+                max += function.ys().parallel().max().orElse(0);
+            }
+            BenchmarkHarness.consume(max);
+        });
+        if (size >= 2) {
+            harness.run("addPoint+deletePoint", params, n -> {
+                for (long i = 0; i < n; i++) {
+                    function.addPoint(inserted);
+                    function.deletePoint(middle + 1);
+                }
+            });
+        }
+        if (size >= 2 && size <= BULK_MAX_SIZE) {
+            // Пакет новых точек между существующими в случайном порядке; каждая операция
+            // вставляет его в свежую копию таблицы, поэтому время включает клонирование
+            int batchSize = Math.min(BULK_POINTS, size - 1);
+            FunctionPoint[] batch = new FunctionPoint[batchSize];
+            for (int k = 0; k < batchSize; k++) {
+                batch[k] = new FunctionPoint((long) k * (size - 1) / batchSize + 0.5, 1.0);
+            }
+            Collections.shuffle(Arrays.asList(batch), random);
+            Object[] bulkParams = {"backend", backend, "size", size, "points", batchSize};
+            harness.run("clone+addPoint", bulkParams, n -> {
+                for (long i = 0; i < n; i++) {
+                    TabulatedFunction target = (TabulatedFunction) function.clone();
+                    for (FunctionPoint point : batch) {
+                        target.addPoint(point);
+                    }
+                    BenchmarkHarness.consume(target);
+                }
+            });
+            harness.run("clone+addPoints", bulkParams, n -> {
+                for (long i = 0; i < n; i++) {
+                    TabulatedFunction target = (TabulatedFunction) function.clone();
+                    target.addPoints(batch);
+                    BenchmarkHarness.consume(target);
+                }
+            });
+        }
+        harness.run("clone", params, n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(function.clone());
+            }
+        });
+        harness.run("equals", params, n -> {
+            boolean equal = true;
+            for (long i = 0; i < n; i++) {
+                equal &= function.equals(copy);
+            }
+            BenchmarkHarness.consume(equal ? 1.0 : 0.0);
+        });
+        harness.run("hashCode", params, n -> {
+            int hash = 0;
+            for (long i = 0; i < n; i++) {
+                hash += function.hashCode();
+            }
+            BenchmarkHarness.consume(hash);
+        });
+        harness.run("create.factory", params, n -> {
+            TabulatedFunctions.setTabulatedFunctionFactory(factory);
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(TabulatedFunctions.createTabulatedFunction(0, rightX, values));
+            }
+        });
+        harness.run("create.reflection", params, n -> {
+            for (long i = 0; i < n; i++) {
+                BenchmarkHarness.consume(TabulatedFunctions.createTabulatedFunction(type, 0, rightX, values));
+            }
+        });
+    }
+
+    static int[] parseSizes(String text) {
+        String[] parts = text.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+            if (sizes[i] < 2) {
+                throw new IllegalArgumentException("Table size must be at least 2");
+            }
+        }
+        return sizes;
+    }
+}
@@ -1,8 +1,11 @@
 package functions;
 
 import java.io.*;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 public class ArrayTabulatedFunction implements TabulatedFunction, Serializable, Cloneable {
     public static class ArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
@@ -26,6 +29,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
     private static final double EPSILON = 1e-10;
     private FunctionPoint[] funct;
     private int len;
+    // Счётчик изменений точек, см. getModificationCount
+    private transient int modCount;
 
     private static boolean isEqual(double a, double b) {
         return Math.abs(a - b) < EPSILON;
@@ -108,28 +113,98 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
 
     public double getFunctionValue(double x)
     {
-        if (x<getLeftDomainBorder() || x>getRightDomainBorder()) {
+        if (!(x >= getLeftDomainBorder() && x <= getRightDomainBorder())) {
             return Double.NaN;
         }
         else {
-            int i = 0;
-            while(i < len && funct[i].getX() < x - EPSILON) {
-                i++;
-            }
-            if (isEqual(funct[i].getX(), x)) {
-                return funct[i].getY();
+            return interpolate(findSegment(x), x);
+        }
+    }
+
+    /**
+     * Вычисляет значения функции в массиве точек.
+     * Для точек вне области определения возвращается NaN.
+     * Если аргументы упорядочены по возрастанию, отрезок находится сдвигом курсора
+     * от отрезка предыдущей точки, иначе двоичным поиском. Номер отрезка ограничивается
+     * первым отрезком, поэтому интерполяция выполняется без ветвлений для всех точек,
+     * а NaN для точек вне области определения подставляется отдельным проходом.
+     * Результат совпадает с вызовом getFunctionValue для каждой точки.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public void getFunctionValues(double[] xs, double[] ys)
+    {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (ys.length < xs.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        // NaN среди аргументов тоже отключает курсор
+        boolean sorted = true;
+        for (int k = 1; k < xs.length && sorted; k++) {
+            sorted = xs[k] >= xs[k - 1];
+        }
+        int cursor = 0;
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            int i;
+            if (sorted) {
+                double bound = x - EPSILON;
+                while (cursor < len - 1 && funct[cursor].getX() < bound) {
+                    cursor++;
+                }
+                i = cursor;
+            } else {
+                i = findSegment(x);
             }
-        else {
-            double x1=funct[i-1].getX();
-            double y1=funct[i-1].getY();
-            double x2=funct[i].getX();
-            double y2=funct[i].getY();
-            double y = (y1 + (x - x1) * (y2 - y1) / (x2 - x1));
-            return y;
+            int segment = Math.max(i, 1);
+            double x1 = funct[segment - 1].getX();
+            double y1 = funct[segment - 1].getY();
+            double x2 = funct[segment].getX();
+            double y2 = funct[segment].getY();
+            double value = y1 + (x - x1) * (y2 - y1) / (x2 - x1);
+            ys[k] = isEqual(funct[i].getX(), x) ? funct[i].getY() : value;
+        }
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            ys[k] = x >= left && x <= right ? ys[k] : Double.NaN;
         }
+    }
 
+    /**
+     * Двоичным поиском находит индекс первой точки, абсцисса которой не меньше x - EPSILON.
+     */
+    private int findSegment(double x)
+    {
+        int low = 0;
+        int high = len - 1;
+        double bound = x - EPSILON;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (funct[middle].getX() < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
+        return low;
+    }
+
+    private double interpolate(int i, double x)
+    {
+        if (isEqual(funct[i].getX(), x)) {
+            return funct[i].getY();
+        }
+        double x1=funct[i-1].getX();
+        double y1=funct[i-1].getY();
+        double x2=funct[i].getX();
+        double y2=funct[i].getY();
+        return y1 + (x - x1) * (y2 - y1) / (x2 - x1);
     }
+
     public int getPointsCount()
     {
         return len;
@@ -152,6 +227,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             throw new InappropriateFunctionPointException("The point disrupts the order");
         }
         funct[index]=new FunctionPoint(point);
+        modCount++;
     }
     public double getPointX(int index)
     {
@@ -171,6 +247,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             throw new InappropriateFunctionPointException("The point disrupts the order");
         }
         funct[index] = new FunctionPoint (x, funct[index].getY());
+        modCount++;
     }
     public double getPointY(int index)
     {
@@ -185,6 +262,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             throw new FunctionPointIndexOutOfBoundsException("Going beyond the set of points");
         }
         funct[index] = new FunctionPoint (funct[index].getX(),y);
+        modCount++;
     }
     public void deletePoint(int index)
     {
@@ -198,33 +276,85 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
             System.arraycopy(funct,index+1, funct,index,len-index-1);
             funct[len-1]=null;
             len--;
+            modCount++;
         }
     }
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        for(int i =0;i<len;++i) {
-            if (isEqual(funct[i].getX(), point.getX())) {
-                throw new InappropriateFunctionPointException("This Point already exists");
+        if (point == null) {
+            throw new IllegalArgumentException("Point must not be null");
+        }
+        int i = findSegment(point.getX());
+        if (funct[i].getX() < point.getX() - EPSILON) {
+            i = len;
+        } else if (isEqual(funct[i].getX(), point.getX())) {
+            throw new InappropriateFunctionPointException("This Point already exists");
+        }
+        ensureCapacity(len + 1);
+        System.arraycopy(funct, i, funct, i + 1, len - i);
+        funct[i] = new FunctionPoint(point);
+        len++;
+        modCount++;
+    }
+
+    /**
+     * Добавляет пакет точек слиянием отсортированного пакета с таблицей за O(n + m log m)
+     * с не более чем одним перевыделением массива.
+     */
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        addSortedPoints(PointBatch.sorted(points));
+    }
+
+    @Override
+    public void addPoints(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        addSortedPoints(PointBatch.sorted(xs, ys));
+    }
+
+    /**
+     * Сливает таблицу с пакетом с конца, поэтому при достаточной ёмкости слияние идёт
+     * на месте. Совпадения проверяются до слияния, так что при ошибке таблица не меняется.
+     */
+    private void addSortedPoints(FunctionPoint[] batch) throws InappropriateFunctionPointException {
+        PointBatch.checkDisjoint(this, batch);
+        int newLen = len + batch.length;
+        FunctionPoint[] target = newLen <= funct.length ? funct : new FunctionPoint[grownCapacity(newLen)];
+        int i = len - 1;
+        int j = batch.length - 1;
+        for (int k = newLen - 1; j >= 0; k--) {
+            if (i >= 0 && funct[i].getX() > batch[j].getX()) {
+                target[k] = funct[i--];
+            } else {
+                target[k] = batch[j--];
             }
         }
-        int i=0;
-        while((i<len && funct[i].getX() < point.getX() - EPSILON)){
-            ++i;
-        }
-        if ((i<len && !isEqual(funct[i].getX(), point.getX())) || (i==len && !isEqual(funct[i-1].getX(), point.getX()))){
-            FunctionPoint[] array = new FunctionPoint[len+1];
-            System.arraycopy(funct, 0, array, 0, i);
-            array[i] = new FunctionPoint(point);
-            System.arraycopy(funct, i, array, i + 1, len - i);
-            len++;
-            funct = array;
+        if (target != funct) {
+            System.arraycopy(funct, 0, target, 0, i + 1);
+            funct = target;
         }
-        else {
-            System.arraycopy(funct, i, funct, i + 1, len - i);
-            funct[i] = new FunctionPoint(point);
-            len++;
+        len = newLen;
+        modCount++;
+    }
+
+    /**
+     * Увеличивает массив точек в полтора раза, если в нём меньше required мест,
+     * чтобы последовательные вставки обходились в среднем без копирования массива.
+     */
+    private void ensureCapacity(int required) {
+        if (required > funct.length) {
+            funct = Arrays.copyOf(funct, grownCapacity(required));
         }
     }
 
+    private int grownCapacity(int required) {
+        int grown = funct.length + (funct.length >> 1);
+        return grown < required || grown < 0 ? required : grown;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modCount;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("{");
@@ -311,5 +441,71 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable,
         };
     }
 
+    @Override
+    public PointCursor cursor() {
+        return new PointCursor() {
+            private int currentIndex = -1;
+
+            @Override
+            public boolean advance() {
+                if (currentIndex < len) {
+                    currentIndex++;
+                }
+                return currentIndex < len;
+            }
+
+            @Override
+            public double x() {
+                return current().getX();
+            }
+
+            @Override
+            public double y() {
+                return current().getY();
+            }
+
+            private FunctionPoint current() {
+                if (currentIndex < 0 || currentIndex >= len) {
+                    throw new IllegalStateException("Cursor is not positioned on a point");
+                }
+                return funct[currentIndex];
+            }
+        };
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action must not be null");
+        }
+        for (int i = 0; i < len; i++) {
+            FunctionPoint point = funct[i];
+            action.accept(point.getX(), point.getY());
+        }
+    }
+
+    @Override
+    public DoubleStream xs() {
+        return PointSpliterator.xs(snapshot());
+    }
+
+    @Override
+    public DoubleStream ys() {
+        return PointSpliterator.ys(snapshot());
+    }
+
+    @Override
+    public Stream<FunctionPoint> points() {
+        return PointSpliterator.points(snapshot());
+    }
+
+    /**
+     * Копирует массив ссылок на точки. Точки заменяются, а не изменяются на месте,
+     * поэтому копии ссылок достаточно для неизменяемого снимка.
+     */
+    private FunctionPoint[] snapshot() {
+        return Arrays.copyOf(funct, len);
+    }
+
 }
 
@@ -0,0 +1,239 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * Приближение гладкой функции отрезком ряда по многочленам Чебышёва на заданном отрезке.
+ * Для гладких функций коэффициенты ряда убывают очень быстро, поэтому для заданной
+ * точности требуется на порядки меньше памяти, чем для кусочно-линейной таблицы.
+ * Значение вычисляется по схеме Кленшоу без ветвлений, зависящих от аргумента.
+ * Объект неизменяем и может использоваться из нескольких потоков.
+ */
+public final class ChebyshevFunction implements Function {
+    private static final int INITIAL_NODES = 16;
+    private static final int MAX_NODES = 1 << 13;
+    // Размер блока точек в пакетном вычислении
+    private static final int BATCH_BLOCK = 256;
+
+    private final double leftX;
+    private final double rightX;
+    private final double[] coefficients;
+
+    private ChebyshevFunction(double leftX, double rightX, double[] coefficients) {
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Строит приближение функции на отрезке с автоматическим выбором степени.
+     * Количество узлов интерполяции удваивается, пока хвост ряда не станет меньше
+     * допустимой погрешности, после чего ряд обрезается до минимальной степени,
+     * при которой сумма модулей отброшенных коэффициентов не превышает погрешности.
+     * Обрезанный ряд затем сравнивается с функцией в узлах интерполяции, серединах
+     * между ними (по углу) и четвертях этих промежутков, включая концы отрезка; если где-то
+     * погрешность превышена (так бывает для негладких функций), количество узлов
+     * удваивается дальше. Проверка выполняется на конечной сетке, поэтому для негладких
+     * функций погрешность между её точками не гарантируется.
+     * @param function приближаемая функция
+     * @param leftX левая граница отрезка
+     * @param rightX правая граница отрезка
+     * @param tolerance допустимая абсолютная погрешность
+     * @return приближение функции рядом Чебышёва
+     * @throws IllegalArgumentException если отрезок выходит за область определения функции,
+     * функция принимает неконечные значения или точность не достигается
+     */
+    public static ChebyshevFunction approximate(Function function, double leftX, double rightX, double tolerance) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (!(leftX < rightX) || Double.isInfinite(leftX) || Double.isInfinite(rightX)) {
+            throw new IllegalArgumentException("The left boundary of the domain must be less than the right one");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Approximation boundaries [" + leftX + ", " + rightX +
+                    "] are out of function domain [" + function.getLeftDomainBorder() + ", " +
+                    function.getRightDomainBorder() + "]");
+        }
+
+        for (int nodes = INITIAL_NODES; nodes <= MAX_NODES; nodes *= 2) {
+            double[] c = coefficients(function, leftX, rightX, nodes);
+
+            // Хвост ряда должен быть разрешён: последние четверть коэффициентов пренебрежимо малы
+            double tail = 0;
+            for (int j = nodes - nodes / 4; j < nodes; j++) {
+                tail += Math.abs(c[j]);
+            }
+            if (tail > tolerance / 2) {
+                continue;
+            }
+
+            int degree = nodes - 1;
+            double dropped = 0;
+            while (degree > 0 && dropped + Math.abs(c[degree]) <= tolerance / 2) {
+                dropped += Math.abs(c[degree]);
+                degree--;
+            }
+            ChebyshevFunction approximation = new ChebyshevFunction(leftX, rightX, Arrays.copyOf(c, degree + 1));
+            if (maxError(function, approximation, 4 * nodes) <= tolerance) {
+                return approximation;
+            }
+        }
+        throw new IllegalArgumentException("Function cannot be approximated with tolerance " + tolerance +
+                " using up to " + MAX_NODES + " Chebyshev nodes");
+    }
+
+    /**
+     * Вычисляет коэффициенты интерполяции в узлах Чебышёва первого рода
+     * дискретным косинус-преобразованием. Коэффициент c[0] уже поделён пополам.
+     */
+    private static double[] coefficients(Function function, double leftX, double rightX, int nodes) {
+        double middle = (leftX + rightX) / 2.0;
+        double halfLength = (rightX - leftX) / 2.0;
+
+        // cos(pi * m / (2 * nodes)) для m = 0 .. 4 * nodes - 1
+        double[] cosines = new double[4 * nodes];
+        for (int m = 0; m < cosines.length; m++) {
+            cosines[m] = Math.cos(Math.PI * m / (2.0 * nodes));
+        }
+
+        double[] values = new double[nodes];
+        for (int k = 0; k < nodes; k++) {
+            double x = middle + halfLength * cosines[2 * k + 1];
+            values[k] = function.getFunctionValue(Math.min(rightX, Math.max(leftX, x)));
+            if (!Double.isFinite(values[k])) {
+                throw new IllegalArgumentException("Function value at " + x + " is not finite");
+            }
+        }
+
+        double[] c = new double[nodes];
+        int period = 4 * nodes;
+        for (int j = 0; j < nodes; j++) {
+            double sum = 0;
+            for (int k = 0; k < nodes; k++) {
+                sum += values[k] * cosines[(int) ((long) j * (2 * k + 1) % period)];
+            }
+            c[j] = 2.0 * sum / nodes;
+        }
+        c[0] /= 2.0;
+        return c;
+    }
+
+    /**
+     * Наибольшее отклонение приближения от функции в точках cos(pi * k / intervals),
+     * k = 0 .. intervals, отображённых на отрезок.
+     */
+    private static double maxError(Function function, ChebyshevFunction approximation, int intervals) {
+        double middle = (approximation.leftX + approximation.rightX) / 2.0;
+        double halfLength = (approximation.rightX - approximation.leftX) / 2.0;
+        double[] xs = new double[intervals + 1];
+        for (int k = 0; k <= intervals; k++) {
+            xs[k] = middle + halfLength * Math.cos(Math.PI * k / intervals);
+        }
+        double[] ys = new double[xs.length];
+        approximation.getFunctionValues(xs, ys);
+
+        double error = 0;
+        for (int k = 0; k < xs.length; k++) {
+            double x = Math.min(approximation.rightX, Math.max(approximation.leftX, xs[k]));
+            error = Math.max(error, Math.abs(function.getFunctionValue(x) - ys[k]));
+        }
+        return error;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return leftX;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return rightX;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < leftX || x > rightX) {
+            return Double.NaN;
+        }
+        double t = (2.0 * x - leftX - rightX) / (rightX - leftX);
+        double twoT = 2.0 * t;
+        double b1 = 0;
+        double b2 = 0;
+        for (int j = coefficients.length - 1; j > 0; j--) {
+            double b0 = twoT * b1 - b2 + coefficients[j];
+            b2 = b1;
+            b1 = b0;
+        }
+        return t * b1 - b2 + coefficients[0];
+    }
+
+    /**
+     * Вычисляет значения функции в массиве точек.
+     * Точки обрабатываются блоками, внутренний цикл идёт по точкам блока
+     * и не содержит зависимостей между итерациями, что позволяет JIT-компилятору
+     * векторизовать его. Для точек вне отрезка возвращается NaN.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public void getFunctionValues(double[] xs, double[] ys) {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (ys.length < xs.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        double scale = 2.0 / (rightX - leftX);
+        double shift = (leftX + rightX) / (rightX - leftX);
+        double[] t = new double[Math.min(BATCH_BLOCK, xs.length)];
+        double[] b1 = new double[t.length];
+        double[] b2 = new double[t.length];
+
+        for (int from = 0; from < xs.length; from += BATCH_BLOCK) {
+            int count = Math.min(BATCH_BLOCK, xs.length - from);
+            for (int i = 0; i < count; i++) {
+                t[i] = xs[from + i] * scale - shift;
+                b1[i] = 0;
+                b2[i] = 0;
+            }
+            for (int j = coefficients.length - 1; j > 0; j--) {
+                double c = coefficients[j];
+                for (int i = 0; i < count; i++) {
+                    double b0 = 2.0 * t[i] * b1[i] - b2[i] + c;
+                    b2[i] = b1[i];
+                    b1[i] = b0;
+                }
+            }
+            double c0 = coefficients[0];
+            for (int i = 0; i < count; i++) {
+                double x = xs[from + i];
+                double y = t[i] * b1[i] - b2[i] + c0;
+                ys[from + i] = x >= leftX && x <= rightX ? y : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Возвращает степень многочлена приближения.
+     * @return степень многочлена
+     */
+    public int getDegree() {
+        return coefficients.length - 1;
+    }
+
+    /**
+     * Возвращает копию коэффициентов ряда, коэффициент при T0 не удваивается.
+     * @return коэффициенты ряда Чебышёва
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "Chebyshev[" + leftX + ", " + rightX + "] degree " + getDegree();
+    }
+}
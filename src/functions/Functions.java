@@ -2,6 +2,8 @@ package functions;
 
 import functions.meta.*;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Утилитарный класс, содержащий вспомогательные статические методы
  * для работы с функциями. Нельзя создать объект этого класса.
@@ -77,6 +79,28 @@ public class Functions {
         return new Composition(f1, f2);
     }
 
+    /**
+     * Возвращает объект функции, запоминающей до заданного количества вычисленных значений.
+     * @param f исходная функция
+     * @param capacity максимальное количество запоминаемых значений
+     * @return функция с ограниченным кэшем значений и счётчиками попаданий и промахов
+     */
+    public static Memoized memoize(Function f, int capacity) {
+        return new Memoized(f, capacity);
+    }
+
+    /**
+     * Возвращает объект функции, которая после заданного количества вызовов
+     * вычисляется интерполяцией по таблице на использованном диапазоне аргументов.
+     * @param f исходная функция
+     * @param threshold количество вызовов до построения таблицы
+     * @param tolerance допустимая абсолютная погрешность интерполяции
+     * @return функция с автоматическим табулированием
+     */
+    public static Tiered tiered(Function f, int threshold, double tolerance) {
+        return new Tiered(f, threshold, tolerance);
+    }
+
     /**
      * Вычисляет определенный интеграл функции на заданном интервале методом трапеций.
      * @param function функция для интегрирования
@@ -90,35 +114,81 @@ public class Functions {
         if (leftBound >= rightBound) {
             throw new IllegalArgumentException("Левая граница должна быть меньше правой границы");
         }
-        if (step <= 0) {
-            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
+        return Quadrature.trapezoid(step).integrate(function, leftBound, rightBound).getValue();
+    }
+
+    /**
+     * Вычисляет определенный интеграл функции на заданном интервале заданным движком интегрирования.
+     * @param function функция для интегрирования
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param quadrature движок интегрирования
+     * @return значение интеграла, оценка погрешности и количество вычислений функции
+     * @throws IllegalArgumentException если интервал выходит за границы области определения функции
+     */
+    public static Quadrature.Result integrate(Function function, double leftBound, double rightBound,
+                                              Quadrature quadrature) {
+        if (quadrature == null) {
+            throw new IllegalArgumentException("Quadrature must not be null");
         }
+        return quadrature.integrate(function, leftBound, rightBound);
+    }
 
-        // Проверка границ области определения
+    /**
+     * Вычисляет определенный интеграл методом трапеций параллельно в общем пуле fork/join.
+     * @param function функция для интегрирования
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param step шаг дискретизации
+     * @return значение интеграла
+     * @throws IllegalArgumentException если интервал выходит за границы области определения функции
+     * @see #integrateParallel(Function, double, double, double, ForkJoinPool)
+     */
+    public static double integrateParallel(Function function, double leftBound, double rightBound, double step) {
+        return integrateParallel(function, leftBound, rightBound, step, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Вычисляет определенный интеграл методом трапеций параллельно в заданном пуле fork/join.
+     * Узлы сетки вычисляются как leftBound + k * step, а не накоплением шага,
+     * поэтому результат может отличаться от {@link #integrate(Function, double, double, double)}
+     * в последних разрядах. Частичные суммы складываются с компенсацией погрешности
+     * в фиксированном порядке, так что результат не зависит от числа потоков.
+     * Небольшие интервалы (до двух порций по {@value ParallelTrapezoid#THRESHOLD} участков)
+     * интегрируются в вызывающем потоке.
+     * @param function функция для интегрирования
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param step шаг дискретизации
+     * @param pool пул потоков
+     * @return значение интеграла
+     * @throws IllegalArgumentException если интервал выходит за границы области определения функции
+     */
+    public static double integrateParallel(Function function, double leftBound, double rightBound, double step,
+                                           ForkJoinPool pool) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        if (leftBound >= rightBound) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы");
+        }
+        if (step <= 0 || Double.isNaN(step)) {
+            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
+        }
         if (leftBound < function.getLeftDomainBorder() || rightBound > function.getRightDomainBorder()) {
             throw new IllegalArgumentException("Интервал интегрирования [" + leftBound + ", " + rightBound +
                     "] выходит за границы области определения функции [" +
                     function.getLeftDomainBorder() + ", " + function.getRightDomainBorder() + "]");
         }
 
-        double integral = 0.0;
-        double x = leftBound;
-
-        while (x < rightBound) {
-            double xNext = Math.min(x + step, rightBound);
-            double h = xNext - x; // длина текущего участка
-
-            // Площадь трапеции: h * (f(x) + f(xNext)) / 2
-            double f_x = function.getFunctionValue(x);
-            double f_xNext = function.getFunctionValue(xNext);
-            integral += h * (f_x + f_xNext) / 2.0;
-
-            x = xNext;
+        long segments = ParallelTrapezoid.segmentsCount(leftBound, rightBound, step);
+        ParallelTrapezoid task = new ParallelTrapezoid(function, leftBound, rightBound, step, segments, 0, segments);
+        if (segments <= 2 * ParallelTrapezoid.THRESHOLD || pool.getParallelism() == 1) {
+            return task.computeSequentially().value();
         }
-
-        return integral;
+        return pool.invoke(task).value();
     }
 }
-
-
-
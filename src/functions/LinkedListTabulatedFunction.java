@@ -3,6 +3,8 @@ package functions;
 import java.io.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 /**
  * Табулированная функция на основе двусвязного циклического списка
@@ -57,6 +59,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
     private FunctionNode cachedNode;
     private int cachedIndex;
 
+    // Счётчик изменений точек, см. getModificationCount
+    private int modCount;
+
     public LinkedListTabulatedFunction() {
         head = new FunctionNode(null);
         head.next = head;
@@ -218,6 +223,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             }
         }
         node.value = new FunctionPoint(point);
+        modCount++;
     }
 
     public double getPointX(int index) {
@@ -236,6 +242,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
 
         node.value = new FunctionPoint(x, node.value.getY());
+        modCount++;
     }
 
     public double getPointY(int index) {
@@ -246,6 +253,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
     public void setPointY(int index, double y) {
         FunctionNode node = getNodeByIndex(index);
         node.value = new FunctionPoint(node.value.getX(), y);
+        modCount++;
     }
 
     public void deletePoint(int index) {
@@ -254,6 +262,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
         FunctionNode node = getNodeByIndex(index);
         deleteNodeAndUpdateCache(node, index);
+        modCount++;
     }
 
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
@@ -278,6 +287,43 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         if (cachedIndex >= 0 && index <= cachedIndex) {
             cachedIndex++;
         }
+        modCount++;
+    }
+
+    /**
+     * Добавляет пакет точек за один проход по списку после сортировки пакета,
+     * то есть за O(n + m log m) вместо O(n·m) при добавлении по одной точке.
+     */
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        addSortedPoints(PointBatch.sorted(points));
+    }
+
+    @Override
+    public void addPoints(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        addSortedPoints(PointBatch.sorted(xs, ys));
+    }
+
+    /**
+     * Вставляет точки отсортированного пакета, двигаясь по списку только вперёд.
+     * Совпадения проверяются до вставки, так что при ошибке список не меняется.
+     */
+    private void addSortedPoints(FunctionPoint[] batch) throws InappropriateFunctionPointException {
+        PointBatch.checkDisjoint(this, batch);
+        if (batch.length == 0) {
+            return;
+        }
+        FunctionNode current = head.next;
+        for (FunctionPoint point : batch) {
+            while (current != head && current.value.getX() < point.getX()) {
+                current = current.next;
+            }
+            insertBefore(current, new FunctionNode(point));
+        }
+        // Номера узлов после вставки изменились, кэш проще сбросить
+        cachedNode = null;
+        cachedIndex = -1;
+        modCount++;
     }
 
     /**
@@ -431,6 +477,12 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             double y = in.readDouble();
             addNodeToTailWithValue(new FunctionPoint(x, y));
         }
+        modCount++;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modCount;
     }
 
     @Override
@@ -548,4 +600,80 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             }
         };
     }
+
+    @Override
+    public PointCursor cursor() {
+        return new PointCursor() {
+            // head означает, что курсор стоит перед первой точкой или после последней
+            private FunctionNode current = head;
+            private boolean started;
+
+            @Override
+            public boolean advance() {
+                if (!started) {
+                    started = true;
+                    current = head.next;
+                } else if (current != head) {
+                    current = current.next;
+                }
+                return current != head;
+            }
+
+            @Override
+            public double x() {
+                return value().getX();
+            }
+
+            @Override
+            public double y() {
+                return value().getY();
+            }
+
+            private FunctionPoint value() {
+                if (current == head) {
+                    throw new IllegalStateException("Cursor is not positioned on a point");
+                }
+                return current.value;
+            }
+        };
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action must not be null");
+        }
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            action.accept(node.value.getX(), node.value.getY());
+        }
+    }
+
+    @Override
+    public DoubleStream xs() {
+        return PointSpliterator.xs(snapshot());
+    }
+
+    @Override
+    public DoubleStream ys() {
+        return PointSpliterator.ys(snapshot());
+    }
+
+    @Override
+    public Stream<FunctionPoint> points() {
+        return PointSpliterator.points(snapshot());
+    }
+
+    /**
+     * Собирает ссылки на точки в массив за один проход по списку. Точки узлов
+     * заменяются, а не изменяются на месте, поэтому копировать их не нужно;
+     * дальше поток делится по массиву за O(1).
+     */
+    private FunctionPoint[] snapshot() {
+        FunctionPoint[] points = new FunctionPoint[size];
+        int i = 0;
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            points[i++] = node.value;
+        }
+        return points;
+    }
 }
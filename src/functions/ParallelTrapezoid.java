@@ -0,0 +1,132 @@
+package functions;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Задача fork/join, интегрирующая функцию методом трапеций на диапазоне участков
+ * равномерной сетки x[k] = leftBound + k * step (последний узел совпадает с правой границей).
+ * Диапазон делится пополам, пока в нём больше THRESHOLD участков; частичные суммы
+ * складываются с компенсацией погрешности (алгоритм Ноймайера) всегда в порядке
+ * «левая половина, затем правая». Разбиение зависит только от количества участков,
+ * поэтому результат не зависит от числа потоков и порядка их выполнения.
+ */
+final class ParallelTrapezoid extends RecursiveTask<ParallelTrapezoid.Sum> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Количество участков, которые выгоднее обработать в одном потоке.
+     */
+    static final long THRESHOLD = 1 << 14;
+
+    private final Function function;
+    private final double leftBound;
+    private final double rightBound;
+    private final double step;
+    private final long segments;
+    private final long from;
+    private final long to;
+
+    ParallelTrapezoid(Function function, double leftBound, double rightBound, double step, long segments,
+                      long from, long to) {
+        this.function = function;
+        this.leftBound = leftBound;
+        this.rightBound = rightBound;
+        this.step = step;
+        this.segments = segments;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Возвращает количество участков сетки с заданным шагом.
+     */
+    static long segmentsCount(double leftBound, double rightBound, double step) {
+        return Math.max(1, (long) Math.ceil((rightBound - leftBound) / step));
+    }
+
+    @Override
+    protected Sum compute() {
+        if (to - from <= THRESHOLD) {
+            return computeSequentially();
+        }
+        long middle = from + (to - from) / 2;
+        ParallelTrapezoid left = new ParallelTrapezoid(function, leftBound, rightBound, step, segments, from, middle);
+        ParallelTrapezoid right = new ParallelTrapezoid(function, leftBound, rightBound, step, segments, middle, to);
+        left.fork();
+        Sum rightSum = right.compute();
+        return left.join().add(rightSum);
+    }
+
+    /**
+     * Обходит диапазон без разбиения. Разбиение на листья такое же, как при
+     * параллельном выполнении, поэтому результат совпадает с ним до бита.
+     */
+    Sum computeSequentially() {
+        if (to - from > THRESHOLD) {
+            long middle = from + (to - from) / 2;
+            Sum leftSum = new ParallelTrapezoid(function, leftBound, rightBound, step, segments, from, middle)
+                    .computeSequentially();
+            Sum rightSum = new ParallelTrapezoid(function, leftBound, rightBound, step, segments, middle, to)
+                    .computeSequentially();
+            return leftSum.add(rightSum);
+        }
+        // Номер узла хранится в double: преобразование long в double на каждой итерации
+        // заметно медленнее, а целые числа до 2^53 представляются точно
+        double k = from;
+        double x = node(k);
+        double f_x = function.getFunctionValue(x);
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (long i = from; i < to; i++) {
+            k += 1.0;
+            double xNext = node(k);
+            double f_xNext = function.getFunctionValue(xNext);
+            double area = (xNext - x) * (f_x + f_xNext) / 2.0;
+            double t = sum + area;
+            if (Math.abs(sum) >= Math.abs(area)) {
+                compensation += (sum - t) + area;
+            } else {
+                compensation += (area - t) + sum;
+            }
+            sum = t;
+            x = xNext;
+            f_x = f_xNext;
+        }
+        Sum result = new Sum();
+        result.sum = sum;
+        result.compensation = compensation;
+        return result;
+    }
+
+    private double node(double k) {
+        return k >= segments ? rightBound : Math.min(leftBound + k * step, rightBound);
+    }
+
+    /**
+     * Сумма с компенсацией погрешности округления.
+     */
+    static final class Sum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        Sum add(Sum other) {
+            add(other.sum);
+            compensation += other.compensation;
+            return this;
+        }
+
+        double value() {
+            return sum + compensation;
+        }
+    }
+}
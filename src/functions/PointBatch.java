@@ -0,0 +1,88 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Подготовка пакета точек для массового добавления в табулированную функцию:
+ * проверка аргументов, копирование и сортировка по абсциссе за O(m log m),
+ * а также проверка, что точки пакета не совпадают с точками функции.
+ */
+final class PointBatch {
+    private static final double EPSILON = 1e-10;
+
+    private PointBatch() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * Возвращает отсортированные по абсциссе копии точек.
+     * @throws InappropriateFunctionPointException если в пакете есть точки с равной абсциссой
+     */
+    static FunctionPoint[] sorted(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        if (points == null) {
+            throw new IllegalArgumentException("Points array must not be null");
+        }
+        FunctionPoint[] batch = new FunctionPoint[points.length];
+        for (int i = 0; i < points.length; i++) {
+            if (points[i] == null) {
+                throw new IllegalArgumentException("Points array must not contain null elements");
+            }
+            batch[i] = new FunctionPoint(points[i]);
+        }
+        return sort(batch);
+    }
+
+    /**
+     * Возвращает точки с заданными координатами, отсортированные по абсциссе.
+     * @throws InappropriateFunctionPointException если в пакете есть точки с равной абсциссой
+     */
+    static FunctionPoint[] sorted(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Arrays of x and y must have the same length");
+        }
+        FunctionPoint[] batch = new FunctionPoint[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            batch[i] = new FunctionPoint(xs[i], ys[i]);
+        }
+        return sort(batch);
+    }
+
+    /**
+     * Проверяет за один совместный проход, что ни одна точка отсортированного пакета
+     * не совпадает по абсциссе с точкой функции.
+     * @throws InappropriateFunctionPointException если такая точка есть
+     */
+    static void checkDisjoint(TabulatedFunction function, FunctionPoint[] batch)
+            throws InappropriateFunctionPointException {
+        PointCursor cursor = function.cursor();
+        int j = 0;
+        while (j < batch.length && cursor.advance()) {
+            double x = cursor.x();
+            while (j < batch.length && batch[j].getX() < x - EPSILON) {
+                j++;
+            }
+            if (j < batch.length && Math.abs(batch[j].getX() - x) < EPSILON) {
+                throw new InappropriateFunctionPointException("Point with this X already exists");
+            }
+        }
+    }
+
+    private static FunctionPoint[] sort(FunctionPoint[] batch) throws InappropriateFunctionPointException {
+        for (FunctionPoint point : batch) {
+            if (Double.isNaN(point.getX())) {
+                throw new IllegalArgumentException("Point x must not be NaN");
+            }
+        }
+        Arrays.sort(batch, Comparator.comparingDouble(FunctionPoint::getX));
+        for (int i = 1; i < batch.length; i++) {
+            if (batch[i].getX() - batch[i - 1].getX() < EPSILON) {
+                throw new InappropriateFunctionPointException("Points with equal X in the batch");
+            }
+        }
+        return batch;
+    }
+}
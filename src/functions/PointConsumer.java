@@ -0,0 +1,15 @@
+package functions;
+
+/**
+ * Действие над точкой табулированной функции, получающее координаты
+ * в виде чисел, а не объекта FunctionPoint.
+ */
+@FunctionalInterface
+public interface PointConsumer {
+    /**
+     * Выполняет действие над точкой.
+     * @param x абсцисса точки
+     * @param y ордината точки
+     */
+    void accept(double x, double y);
+}
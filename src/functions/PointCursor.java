@@ -0,0 +1,37 @@
+package functions;
+
+/**
+ * Курсор для обхода точек табулированной функции по возрастанию абсциссы
+ * без создания объектов FunctionPoint.
+ * Сразу после создания курсор стоит перед первой точкой; каждый вызов
+ * {@link #advance()} переводит его на следующую точку.
+ * Пример обхода:
+ * <pre>
+ * PointCursor cursor = function.cursor();
+ * while (cursor.advance()) {
+ *     sum += cursor.y();
+ * }
+ * </pre>
+ * Функцию нельзя изменять во время обхода: результат такого обхода не определён.
+ */
+public interface PointCursor {
+    /**
+     * Переводит курсор на следующую точку.
+     * @return true, если курсор стоит на точке; false, если точки закончились
+     */
+    boolean advance();
+
+    /**
+     * Возвращает абсциссу текущей точки.
+     * @return абсцисса
+     * @throws IllegalStateException если курсор не стоит на точке
+     */
+    double x();
+
+    /**
+     * Возвращает ординату текущей точки.
+     * @return ордината
+     * @throws IllegalStateException если курсор не стоит на точке
+     */
+    double y();
+}
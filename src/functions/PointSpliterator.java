@@ -0,0 +1,179 @@
+package functions;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Разделяемые итераторы и потоки над снимком точек табулированной функции.
+ * Снимок — массив ссылок на точки, которые табулированные функции никогда
+ * не изменяют на месте (изменение точки заменяет объект), поэтому последующие
+ * изменения функции не влияют на поток. Разделение диапазона снимка пополам
+ * выполняется за O(1), что позволяет параллельным потокам распределять работу по ядрам.
+ */
+final class PointSpliterator {
+    private static final int CHARACTERISTICS =
+        Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE;
+
+    private PointSpliterator() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    static DoubleStream xs(FunctionPoint[] points) {
+        return StreamSupport.doubleStream(new OfCoordinate(points, 0, points.length, false), false);
+    }
+
+    static DoubleStream ys(FunctionPoint[] points) {
+        return StreamSupport.doubleStream(new OfCoordinate(points, 0, points.length, true), false);
+    }
+
+    /**
+     * Поток копий точек: сами точки снимка наружу не передаются.
+     */
+    static Stream<FunctionPoint> points(FunctionPoint[] points) {
+        return StreamSupport.stream(new OfPoint(points, 0, points.length), false);
+    }
+
+    /**
+     * Снимок произвольной табулированной функции через getPoint, который возвращает копии точек.
+     */
+    static FunctionPoint[] snapshot(TabulatedFunction function) {
+        FunctionPoint[] points = new FunctionPoint[function.getPointsCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = function.getPoint(i);
+        }
+        return points;
+    }
+
+    /**
+     * Разделяемый итератор абсцисс или ординат на диапазоне [index, fence) снимка.
+     */
+    static final class OfCoordinate implements Spliterator.OfDouble {
+        private final FunctionPoint[] points;
+        private final boolean ordinates;
+        private int index;
+        private final int fence;
+
+        OfCoordinate(FunctionPoint[] points, int origin, int fence, boolean ordinates) {
+            this.points = points;
+            this.index = origin;
+            this.fence = fence;
+            this.ordinates = ordinates;
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            OfCoordinate prefix = new OfCoordinate(points, index, middle, ordinates);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index >= fence) {
+                return false;
+            }
+            FunctionPoint point = points[index++];
+            action.accept(ordinates ? point.getY() : point.getX());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int i = index;
+            index = fence;
+            if (ordinates) {
+                for (; i < fence; i++) {
+                    action.accept(points[i].getY());
+                }
+            } else {
+                for (; i < fence; i++) {
+                    action.accept(points[i].getX());
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Разделяемый итератор копий точек на диапазоне [index, fence) снимка.
+     */
+    static final class OfPoint implements Spliterator<FunctionPoint> {
+        private final FunctionPoint[] points;
+        private int index;
+        private final int fence;
+
+        OfPoint(FunctionPoint[] points, int origin, int fence) {
+            this.points = points;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<FunctionPoint> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            OfPoint prefix = new OfPoint(points, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FunctionPoint> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(new FunctionPoint(points[index++]));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super FunctionPoint> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int i = index;
+            index = fence;
+            for (; i < fence; i++) {
+                action.accept(new FunctionPoint(points[i]));
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS | Spliterator.NONNULL;
+        }
+    }
+}
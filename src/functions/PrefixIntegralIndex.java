@@ -0,0 +1,153 @@
+package functions;
+
+/**
+ * Индекс накопленных интегралов табулированной функции для быстрых запросов
+ * интеграла по произвольному отрезку.
+ * Площади под отрезками между соседними точками хранятся в дереве Фенвика, поэтому
+ * интеграл по отрезку [a, b] вычисляется за O(log n), а изменение ординаты точки
+ * через {@link #setPointY(int, double)} обновляет индекс за O(log n).
+ * Индекс хранит копию абсцисс и ординат функции. Ординаты следует изменять только
+ * через индекс; любое изменение функции в обход индекса обнаруживается по счётчику
+ * {@link TabulatedFunction#getModificationCount()}, и после него индекс нужно построить заново.
+ * Для реализаций, не отслеживающих изменения, обнаруживается только изменение
+ * количества точек.
+ */
+public class PrefixIntegralIndex {
+    private final TabulatedFunction function;
+    private final double[] xs;
+    private final double[] ys;
+    // Дерево Фенвика по площадям отрезков, нумерация с единицы
+    private final double[] tree;
+    // Значение счётчика изменений функции, соответствующее содержимому индекса
+    private int expectedModCount;
+
+    /**
+     * Строит индекс для табулированной функции за O(n).
+     * @param function табулированная функция
+     */
+    public PrefixIntegralIndex(TabulatedFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        this.function = function;
+        this.expectedModCount = function.getModificationCount();
+        int pointsCount = function.getPointsCount();
+        this.xs = new double[pointsCount];
+        this.ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = function.getPointX(i);
+            ys[i] = function.getPointY(i);
+        }
+
+        // Линейное построение: каждый узел передаёт накопленную сумму родителю
+        this.tree = new double[pointsCount];
+        for (int i = 1; i < pointsCount; i++) {
+            tree[i] += segmentArea(i - 1);
+            int parent = i + (i & -i);
+            if (parent < pointsCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Возвращает функцию, для которой построен индекс.
+     * @return табулированная функция
+     */
+    public TabulatedFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Вычисляет интеграл функции на отрезке за O(log n).
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @return значение интеграла
+     * @throws IllegalArgumentException если отрезок выходит за область определения функции
+     * @throws IllegalStateException если функция изменялась в обход индекса после его построения
+     */
+    public double integrate(double leftBound, double rightBound) {
+        checkStructure();
+        if (!(leftBound <= rightBound)) {
+            throw new IllegalArgumentException("The left bound must not be greater than the right one");
+        }
+        if (leftBound < xs[0] || rightBound > xs[xs.length - 1]) {
+            throw new IllegalArgumentException("Integration bounds [" + leftBound + ", " + rightBound +
+                    "] are out of function domain [" + xs[0] + ", " + xs[xs.length - 1] + "]");
+        }
+        return integralTo(rightBound) - integralTo(leftBound);
+    }
+
+    /**
+     * Изменяет ординату точки функции и обновляет индекс за O(log n).
+     * @param index номер точки
+     * @param y новое значение ординаты
+     * @throws IllegalStateException если функция изменялась в обход индекса после его построения
+     */
+    public void setPointY(int index, double y) {
+        checkStructure();
+        if (index < 0 || index >= xs.length) {
+            throw new FunctionPointIndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+        function.setPointY(index, y);
+        expectedModCount = function.getModificationCount();
+        double leftBefore = index > 0 ? segmentArea(index - 1) : 0.0;
+        double rightBefore = index < xs.length - 1 ? segmentArea(index) : 0.0;
+        ys[index] = y;
+        if (index > 0) {
+            update(index, segmentArea(index - 1) - leftBefore);
+        }
+        if (index < xs.length - 1) {
+            update(index + 1, segmentArea(index) - rightBefore);
+        }
+    }
+
+    /**
+     * Интеграл от левой границы области определения до x.
+     */
+    private double integralTo(double x) {
+        // Последняя точка с абсциссой не больше x
+        int low = 0;
+        int high = xs.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (xs[middle] <= x) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        double integral = prefix(low);
+        if (low < xs.length - 1 && x > xs[low]) {
+            integral += TabulatedFunctions.segmentArea(xs[low], ys[low], xs[low + 1], ys[low + 1], xs[low], x);
+        }
+        return integral;
+    }
+
+    /**
+     * Сумма площадей первых count отрезков.
+     */
+    private double prefix(int count) {
+        double sum = 0.0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void update(int position, double delta) {
+        for (int i = position; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private double segmentArea(int segment) {
+        return (xs[segment + 1] - xs[segment]) * (ys[segment] + ys[segment + 1]) / 2.0;
+    }
+
+    private void checkStructure() {
+        if (function.getModificationCount() != expectedModCount || function.getPointsCount() != xs.length) {
+            throw new IllegalStateException("Function was modified outside the index, the index must be rebuilt");
+        }
+    }
+}
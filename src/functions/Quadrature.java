@@ -0,0 +1,417 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Движок численного интегрирования функций.
+ * Поддерживает три метода:
+ * <ul>
+ *     <li>метод трапеций с постоянным шагом, в котором значение функции в каждом
+ *     внутреннем узле вычисляется один раз;</li>
+ *     <li>адаптивный метод Симпсона;</li>
+ *     <li>адаптивный метод Гаусса–Кронрода по 7 и 15 точкам.</li>
+ * </ul>
+ * Адаптивные методы на каждом шаге делят пополам отрезок с наибольшей оценкой погрешности,
+ * пока суммарная оценка не станет меньше max(абсолютная допустимая погрешность,
+ * относительная допустимая погрешность * |интеграл|) или не будет исчерпан лимит вычислений.
+ * Результат содержит значение интеграла, оценку погрешности и количество вычислений функции.
+ * Объект неизменяем и может использоваться из нескольких потоков.
+ */
+public final class Quadrature {
+
+    /**
+     * Метод интегрирования.
+     */
+    public enum Method {
+        TRAPEZOID,
+        ADAPTIVE_SIMPSON,
+        GAUSS_KRONROD
+    }
+
+    private static final int DEFAULT_MAX_EVALUATIONS = 10_000_000;
+
+    // Узлы и веса правила Гаусса–Кронрода (QUADPACK, qk15)
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.0
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // Веса правила Гаусса в узлах KRONROD_NODES[1], [3], [5] и [7]
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    private final Method method;
+    private final double step;
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final int maxEvaluations;
+
+    private Quadrature(Method method, double step, double absoluteTolerance, double relativeTolerance,
+                       int maxEvaluations) {
+        this.method = method;
+        this.step = step;
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * Создаёт движок, интегрирующий методом трапеций с постоянным шагом.
+     * @param step шаг дискретизации
+     * @return движок интегрирования
+     */
+    public static Quadrature trapezoid(double step) {
+        if (step <= 0 || Double.isNaN(step)) {
+            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
+        }
+        return new Quadrature(Method.TRAPEZOID, step, 0, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Создаёт движок, интегрирующий адаптивным методом Симпсона.
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность
+     * @return движок интегрирования
+     */
+    public static Quadrature adaptiveSimpson(double absoluteTolerance, double relativeTolerance) {
+        checkTolerances(absoluteTolerance, relativeTolerance);
+        return new Quadrature(Method.ADAPTIVE_SIMPSON, 0, absoluteTolerance, relativeTolerance,
+                DEFAULT_MAX_EVALUATIONS);
+    }
+
+    /**
+     * Создаёт движок, интегрирующий адаптивным методом Гаусса–Кронрода.
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность
+     * @return движок интегрирования
+     */
+    public static Quadrature gaussKronrod(double absoluteTolerance, double relativeTolerance) {
+        checkTolerances(absoluteTolerance, relativeTolerance);
+        return new Quadrature(Method.GAUSS_KRONROD, 0, absoluteTolerance, relativeTolerance,
+                DEFAULT_MAX_EVALUATIONS);
+    }
+
+    /**
+     * Возвращает движок с тем же методом и другим лимитом вычислений функции.
+     * Для метода трапеций лимит не применяется.
+     * @param maxEvaluations максимальное количество вычислений функции
+     * @return движок интегрирования
+     */
+    public Quadrature withMaxEvaluations(int maxEvaluations) {
+        if (maxEvaluations < 1) {
+            throw new IllegalArgumentException("Evaluations limit must be positive");
+        }
+        return new Quadrature(method, step, absoluteTolerance, relativeTolerance, maxEvaluations);
+    }
+
+    private static void checkTolerances(double absoluteTolerance, double relativeTolerance) {
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerances must not be negative");
+        }
+        if (absoluteTolerance == 0 && relativeTolerance == 0) {
+            throw new IllegalArgumentException("At least one tolerance must be positive");
+        }
+    }
+
+    /**
+     * Возвращает метод интегрирования.
+     * @return метод интегрирования
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Вычисляет определенный интеграл функции на заданном интервале.
+     * @param function функция для интегрирования
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @return значение интеграла, оценка погрешности и количество вычислений функции
+     * @throws IllegalArgumentException если интервал выходит за границы области определения функции
+     */
+    public Result integrate(Function function, double leftBound, double rightBound) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (leftBound >= rightBound) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы");
+        }
+
+        // Проверка границ области определения
+        if (leftBound < function.getLeftDomainBorder() || rightBound > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования [" + leftBound + ", " + rightBound +
+                    "] выходит за границы области определения функции [" +
+                    function.getLeftDomainBorder() + ", " + function.getRightDomainBorder() + "]");
+        }
+
+        switch (method) {
+            case TRAPEZOID:
+                return trapezoid(function, leftBound, rightBound);
+            case ADAPTIVE_SIMPSON:
+            case GAUSS_KRONROD:
+                return adaptive(function, leftBound, rightBound);
+            default:
+                throw new AssertionError(method);
+        }
+    }
+
+    /**
+     * Метод трапеций с постоянным шагом. Значение в правом конце участка
+     * переиспользуется как значение в левом конце следующего участка.
+     * Погрешность оценивается по правилу Рунге сравнением с суммой по удвоенному шагу,
+     * составленной из тех же значений функции.
+     */
+    private Result trapezoid(Function function, double leftBound, double rightBound) {
+        double integral = 0.0;
+        double coarse = 0.0;
+        double x = leftBound;
+        double f_x = function.getFunctionValue(x);
+        long evaluations = 1;
+
+        // Начало и значение в начале незавершённой пары участков
+        boolean pairOpen = false;
+        double pairX = 0.0;
+        double pairF = 0.0;
+
+        while (x < rightBound) {
+            double xNext = Math.min(x + step, rightBound);
+            double h = xNext - x; // длина текущего участка
+
+            // Площадь трапеции: h * (f(x) + f(xNext)) / 2
+            double f_xNext = function.getFunctionValue(xNext);
+            evaluations++;
+            integral += h * (f_x + f_xNext) / 2.0;
+
+            if (pairOpen) {
+                coarse += (xNext - pairX) * (pairF + f_xNext) / 2.0;
+            } else {
+                pairX = x;
+                pairF = f_x;
+            }
+            pairOpen = !pairOpen;
+
+            x = xNext;
+            f_x = f_xNext;
+        }
+        if (pairOpen) {
+            // Непарный последний участок входит в обе суммы одинаково
+            coarse += (x - pairX) * (pairF + f_x) / 2.0;
+        }
+
+        return new Result(integral, Math.abs(integral - coarse) / 3.0, evaluations, true);
+    }
+
+    /**
+     * Глобально-адаптивное интегрирование: отрезок с наибольшей оценкой погрешности
+     * делится пополам, пока оценка суммарной погрешности превышает допустимую.
+     */
+    private Result adaptive(Function function, double leftBound, double rightBound) {
+        long[] evaluations = new long[1];
+        PriorityQueue<Segment> queue = new PriorityQueue<>();
+        List<Segment> finished = new ArrayList<>();
+
+        Segment whole = method == Method.ADAPTIVE_SIMPSON
+                ? simpson(function, leftBound, rightBound,
+                        evaluate(function, leftBound, evaluations),
+                        evaluate(function, (leftBound + rightBound) / 2.0, evaluations),
+                        evaluate(function, rightBound, evaluations), evaluations)
+                : kronrod(function, leftBound, rightBound, evaluations);
+        queue.add(whole);
+        double value = whole.value;
+        double error = whole.error;
+
+        while (!queue.isEmpty() && error > tolerance(value) && evaluations[0] < maxEvaluations) {
+            Segment worst = queue.poll();
+            double middle = (worst.left + worst.right) / 2.0;
+            if (!(middle > worst.left && middle < worst.right)) {
+                // Отрезок больше не делится в арифметике с плавающей точкой
+                finished.add(worst);
+                continue;
+            }
+
+            Segment left;
+            Segment right;
+            if (method == Method.ADAPTIVE_SIMPSON) {
+                left = simpson(function, worst.left, middle, worst.fLeft, worst.fQuarter, worst.fMiddle, evaluations);
+                right = simpson(function, middle, worst.right, worst.fMiddle, worst.fThreeQuarters, worst.fRight,
+                        evaluations);
+            } else {
+                left = kronrod(function, worst.left, middle, evaluations);
+                right = kronrod(function, middle, worst.right, evaluations);
+            }
+            value += left.value + right.value - worst.value;
+            error += left.error + right.error - worst.error;
+            queue.add(left);
+            queue.add(right);
+        }
+
+        // Итоговая сумма вычисляется заново с компенсацией погрешности округления
+        finished.addAll(queue);
+        double sum = 0.0;
+        double compensation = 0.0;
+        double totalError = 0.0;
+        for (Segment segment : finished) {
+            double t = sum + segment.value;
+            if (Math.abs(sum) >= Math.abs(segment.value)) {
+                compensation += (sum - t) + segment.value;
+            } else {
+                compensation += (segment.value - t) + sum;
+            }
+            sum = t;
+            totalError += segment.error;
+        }
+        sum += compensation;
+        return new Result(sum, totalError, evaluations[0], totalError <= tolerance(sum));
+    }
+
+    private double tolerance(double value) {
+        return Math.max(absoluteTolerance, relativeTolerance * Math.abs(value));
+    }
+
+    private static double evaluate(Function function, double x, long[] evaluations) {
+        evaluations[0]++;
+        return function.getFunctionValue(x);
+    }
+
+    /**
+     * Формула Симпсона на отрезке и на его половинах с уточнением по Ричардсону.
+     * Значения в концах и середине отрезка уже известны, вычисляются только две четвертные точки.
+     */
+    private static Segment simpson(Function function, double left, double right,
+                                   double fLeft, double fMiddle, double fRight, long[] evaluations) {
+        double h = right - left;
+        double middle = (left + right) / 2.0;
+        double fQuarter = evaluate(function, (left + middle) / 2.0, evaluations);
+        double fThreeQuarters = evaluate(function, (middle + right) / 2.0, evaluations);
+
+        double coarse = h / 6.0 * (fLeft + 4.0 * fMiddle + fRight);
+        double fine = h / 12.0 * (fLeft + 4.0 * fQuarter + 2.0 * fMiddle + 4.0 * fThreeQuarters + fRight);
+        double difference = (fine - coarse) / 15.0;
+
+        Segment segment = new Segment(left, right, fine + difference, Math.abs(difference));
+        segment.fLeft = fLeft;
+        segment.fQuarter = fQuarter;
+        segment.fMiddle = fMiddle;
+        segment.fThreeQuarters = fThreeQuarters;
+        segment.fRight = fRight;
+        return segment;
+    }
+
+    /**
+     * Правило Кронрода по 15 точкам; разность с правилом Гаусса по 7 точкам
+     * (использующим подмножество тех же узлов) служит оценкой погрешности.
+     */
+    private static Segment kronrod(Function function, double left, double right, long[] evaluations) {
+        double center = (left + right) / 2.0;
+        double halfLength = (right - left) / 2.0;
+
+        double fCenter = evaluate(function, center, evaluations);
+        double kronrod = fCenter * KRONROD_WEIGHTS[7];
+        double gauss = fCenter * GAUSS_WEIGHTS[3];
+        for (int i = 0; i < 7; i++) {
+            double dx = halfLength * KRONROD_NODES[i];
+            double sum = evaluate(function, center - dx, evaluations) + evaluate(function, center + dx, evaluations);
+            kronrod += KRONROD_WEIGHTS[i] * sum;
+            if (i % 2 == 1) {
+                gauss += GAUSS_WEIGHTS[i / 2] * sum;
+            }
+        }
+        kronrod *= halfLength;
+        gauss *= halfLength;
+        return new Segment(left, right, kronrod, Math.abs(kronrod - gauss));
+    }
+
+    /**
+     * Отрезок разбиения с оценками интеграла и погрешности.
+     * Очередь упорядочивает отрезки по убыванию погрешности.
+     */
+    private static final class Segment implements Comparable<Segment> {
+        final double left;
+        final double right;
+        final double value;
+        final double error;
+        // Значения функции, переиспользуемые методом Симпсона при делении отрезка
+        double fLeft;
+        double fQuarter;
+        double fMiddle;
+        double fThreeQuarters;
+        double fRight;
+
+        Segment(double left, double right, double value, double error) {
+            this.left = left;
+            this.right = right;
+            this.value = value;
+            this.error = error;
+        }
+
+        @Override
+        public int compareTo(Segment other) {
+            return Double.compare(other.error, error);
+        }
+    }
+
+    /**
+     * Результат интегрирования.
+     */
+    public static final class Result {
+        private final double value;
+        private final double errorEstimate;
+        private final long evaluations;
+        private final boolean converged;
+
+        Result(double value, double errorEstimate, long evaluations, boolean converged) {
+            this.value = value;
+            this.errorEstimate = errorEstimate;
+            this.evaluations = evaluations;
+            this.converged = converged;
+        }
+
+        /**
+         * Возвращает значение интеграла.
+         * @return значение интеграла
+         */
+        public double getValue() {
+            return value;
+        }
+
+        /**
+         * Возвращает оценку абсолютной погрешности.
+         * @return оценка погрешности
+         */
+        public double getErrorEstimate() {
+            return errorEstimate;
+        }
+
+        /**
+         * Возвращает количество вычислений функции.
+         * @return количество вычислений
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * Проверяет, достигнута ли заданная точность. Для метода трапеций всегда true.
+         * @return true, если оценка погрешности не превышает допустимую
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        @Override
+        public String toString() {
+            return value + " ± " + errorEstimate + " (" + evaluations + " evaluations)";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package functions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: запись или чтение табулированной функции методами {@link TabulatedFunctions}.
+ * По умолчанию записываются операции дольше 10 мс вместе со стеком вызовов,
+ * чтобы в записи было видно, откуда загружалась медленная таблица.
+ */
+@Name("functions.TableIO")
+@Label("Table I/O")
+@Category({"Integration Pipeline", "Tabulated Functions"})
+@Description("Запись или чтение табулированной функции")
+@Threshold("10 ms")
+final class TableIoEvent extends Event {
+    static final String OUTPUT = "output";
+    static final String INPUT = "input";
+    static final String WRITE = "write";
+    static final String READ = "read";
+
+    @Label("Operation")
+    @Description("output и input — байтовый формат, write и read — текстовый")
+    String operation;
+
+    @Label("Points Count")
+    int pointsCount;
+
+    @Label("Function Class")
+    Class<?> functionClass;
+
+    static TableIoEvent start() {
+        TableIoEvent event = new TableIoEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(String operation, TabulatedFunction function) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.pointsCount = function.getPointsCount();
+            this.functionClass = function.getClass();
+            commit();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package functions;
 
 import java.util.Iterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 public interface TabulatedFunction extends Function, Cloneable, Iterable<FunctionPoint> {
     int getPointsCount();
@@ -13,4 +15,127 @@ public interface TabulatedFunction extends Function, Cloneable, Iterable<Functio
     void deletePoint(int index);
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
     Object clone();
+
+    /**
+     * Возвращает счётчик изменений: он увеличивается при каждом изменении, добавлении
+     * или удалении точки, поэтому по двум его значениям можно узнать, менялась ли функция
+     * в промежутке. Реализация по умолчанию всегда возвращает 0, то есть изменений
+     * не отслеживает.
+     * @return счётчик изменений
+     */
+    default int getModificationCount() {
+        return 0;
+    }
+
+    /**
+     * Добавляет пакет точек в произвольном порядке. Добавление атомарно: если точка пакета
+     * совпадает по абсциссе с точкой функции или с другой точкой пакета, функция не изменяется.
+     * Реализация по умолчанию добавляет проверенные точки по одной через addPoint.
+     * @param points добавляемые точки
+     * @throws InappropriateFunctionPointException если абсциссы точек совпадают
+     */
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = PointBatch.sorted(points);
+        PointBatch.checkDisjoint(this, batch);
+        for (FunctionPoint point : batch) {
+            addPoint(point);
+        }
+    }
+
+    /**
+     * Добавляет пакет точек, заданных массивами координат; xs[i] и ys[i] — координаты i-й точки.
+     * Правила такие же, как у {@link #addPoints(FunctionPoint[])}.
+     * @param xs абсциссы точек
+     * @param ys ординаты точек
+     * @throws InappropriateFunctionPointException если абсциссы точек совпадают
+     */
+    default void addPoints(double[] xs, double[] ys) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = PointBatch.sorted(xs, ys);
+        PointBatch.checkDisjoint(this, batch);
+        for (FunctionPoint point : batch) {
+            addPoint(point);
+        }
+    }
+
+    /**
+     * Возвращает курсор для обхода точек без создания объектов FunctionPoint.
+     * Реализация по умолчанию читает точки через getPointX и getPointY.
+     * @return курсор, стоящий перед первой точкой
+     */
+    default PointCursor cursor() {
+        return new PointCursor() {
+            private int index = -1;
+
+            @Override
+            public boolean advance() {
+                if (index < getPointsCount()) {
+                    index++;
+                }
+                return index < getPointsCount();
+            }
+
+            @Override
+            public double x() {
+                checkPosition();
+                return getPointX(index);
+            }
+
+            @Override
+            public double y() {
+                checkPosition();
+                return getPointY(index);
+            }
+
+            private void checkPosition() {
+                if (index < 0 || index >= getPointsCount()) {
+                    throw new IllegalStateException("Cursor is not positioned on a point");
+                }
+            }
+        };
+    }
+
+    /**
+     * Выполняет действие для каждой точки по возрастанию абсциссы,
+     * не создавая объектов FunctionPoint.
+     * @param action действие над координатами точки
+     */
+    default void forEachPoint(PointConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action must not be null");
+        }
+        int pointsCount = getPointsCount();
+        for (int i = 0; i < pointsCount; i++) {
+            action.accept(getPointX(i), getPointY(i));
+        }
+    }
+
+    /**
+     * Возвращает поток абсцисс точек по возрастанию.
+     * Поток строится по снимку точек, сделанному при вызове, и не зависит
+     * от последующих изменений функции. Разделяемый итератор потока имеет характеристики
+     * SIZED, SUBSIZED, ORDERED и IMMUTABLE и делится за O(1), поэтому поток
+     * эффективно обрабатывается параллельно (после вызова parallel()).
+     * @return поток абсцисс
+     */
+    default DoubleStream xs() {
+        return PointSpliterator.xs(PointSpliterator.snapshot(this));
+    }
+
+    /**
+     * Возвращает поток ординат точек по возрастанию абсциссы.
+     * Снимок и характеристики такие же, как у {@link #xs()}.
+     * @return поток ординат
+     */
+    default DoubleStream ys() {
+        return PointSpliterator.ys(PointSpliterator.snapshot(this));
+    }
+
+    /**
+     * Возвращает поток копий точек по возрастанию абсциссы.
+     * Снимок и характеристики такие же, как у {@link #xs()}, дополнительно NONNULL.
+     * @return поток точек
+     */
+    default Stream<FunctionPoint> points() {
+        return PointSpliterator.points(PointSpliterator.snapshot(this));
+    }
 }
\ No newline at end of file
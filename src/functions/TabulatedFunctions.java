@@ -6,6 +6,7 @@ import java.lang.reflect.*;
 /**
  * Утилитарный класс, содержащий вспомогательные статические методы
  * для работы с табулированными функциями. Нельзя создать объект этого класса.
+ * Запись и чтение таблиц отмечаются событием JFR functions.TableIO.
  */
 public class TabulatedFunctions {
 
@@ -149,6 +150,58 @@ public class TabulatedFunctions {
         return tabulated;
     }
 
+    /**
+     * Вычисляет точный интеграл кусочно-линейной табулированной функции на отрезке.
+     * На каждом отрезке между соседними точками функция линейна, поэтому площадь
+     * под ней вычисляется по формуле трапеции без погрешности дискретизации.
+     * Время работы линейно зависит от количества точек.
+     * @param function табулированная функция
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @return значение интеграла
+     * @throws IllegalArgumentException если отрезок выходит за область определения функции
+     */
+    public static double integrate(TabulatedFunction function, double leftBound, double rightBound) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (!(leftBound <= rightBound)) {
+            throw new IllegalArgumentException("The left bound must not be greater than the right one");
+        }
+        if (leftBound < function.getLeftDomainBorder() || rightBound > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException(
+                String.format("Integration bounds [%.10f, %.10f] are out of function domain [%.10f, %.10f]",
+                    leftBound, rightBound, function.getLeftDomainBorder(), function.getRightDomainBorder())
+            );
+        }
+
+        PointCursor cursor = function.cursor();
+        cursor.advance();
+        double integral = 0.0;
+        double x1 = cursor.x();
+        double y1 = cursor.y();
+        while (x1 < rightBound && cursor.advance()) {
+            double x2 = cursor.x();
+            double y2 = cursor.y();
+            if (x2 > leftBound) {
+                integral += segmentArea(x1, y1, x2, y2, Math.max(x1, leftBound), Math.min(x2, rightBound));
+            }
+            x1 = x2;
+            y1 = y2;
+        }
+        return integral;
+    }
+
+    /**
+     * Площадь под отрезком прямой через (x1, y1) и (x2, y2) на участке [from, to] внутри [x1, x2].
+     */
+    static double segmentArea(double x1, double y1, double x2, double y2, double from, double to) {
+        double slope = (y2 - y1) / (x2 - x1);
+        double yFrom = y1 + (from - x1) * slope;
+        double yTo = y1 + (to - x1) * slope;
+        return (to - from) * (yFrom + yTo) / 2.0;
+    }
+
     /**
      * Выводит табулированную функцию в байтовый поток.
      * Формат: количество точек (int), затем для каждой точки: x (double), y (double).
@@ -165,6 +218,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("OutputStream must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         DataOutputStream dataOut = new DataOutputStream(out);
         int pointsCount = function.getPointsCount();
         dataOut.writeInt(pointsCount);
@@ -174,6 +228,7 @@ public class TabulatedFunctions {
             dataOut.writeDouble(function.getPointY(i));
         }
         dataOut.flush();
+        event.finish(TableIoEvent.OUTPUT, function);
     }
 
     /**
@@ -189,6 +244,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("InputStream must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         DataInputStream dataIn = new DataInputStream(in);
         int pointsCount = dataIn.readInt();
 
@@ -203,7 +259,9 @@ public class TabulatedFunctions {
             points[i] = new FunctionPoint(x, y);
         }
 
-        return createTabulatedFunction(points);
+        TabulatedFunction function = createTabulatedFunction(points);
+        event.finish(TableIoEvent.INPUT, function);
+        return function;
     }
 
     /**
@@ -221,6 +279,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("InputStream must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         DataInputStream dataIn = new DataInputStream(in);
         int pointsCount = dataIn.readInt();
 
@@ -235,7 +294,9 @@ public class TabulatedFunctions {
             points[i] = new FunctionPoint(x, y);
         }
 
-        return createTabulatedFunction(clazz, points);
+        TabulatedFunction function = createTabulatedFunction(clazz, points);
+        event.finish(TableIoEvent.INPUT, function);
+        return function;
     }
 
     /**
@@ -318,6 +379,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("Writer must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         PrintWriter printWriter = new PrintWriter(out);
         int pointsCount = function.getPointsCount();
         printWriter.print(pointsCount);
@@ -329,6 +391,7 @@ public class TabulatedFunctions {
             printWriter.print(function.getPointY(i));
         }
         printWriter.flush();
+        event.finish(TableIoEvent.WRITE, function);
     }
 
     /**
@@ -344,6 +407,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("Reader must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         StreamTokenizer tokenizer = new StreamTokenizer(in);
         tokenizer.parseNumbers();
 
@@ -374,7 +438,9 @@ public class TabulatedFunctions {
             points[i] = new FunctionPoint(x, y);
         }
 
-        return createTabulatedFunction(points);
+        TabulatedFunction function = createTabulatedFunction(points);
+        event.finish(TableIoEvent.READ, function);
+        return function;
     }
 
     /**
@@ -392,6 +458,7 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("Reader must not be null");
         }
 
+        TableIoEvent event = TableIoEvent.start();
         StreamTokenizer tokenizer = new StreamTokenizer(in);
         tokenizer.parseNumbers();
 
@@ -422,7 +489,9 @@ public class TabulatedFunctions {
             points[i] = new FunctionPoint(x, y);
         }
 
-        return createTabulatedFunction(clazz, points);
+        TabulatedFunction function = createTabulatedFunction(clazz, points);
+        event.finish(TableIoEvent.READ, function);
+        return function;
     }
 }
 
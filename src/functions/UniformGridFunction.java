@@ -0,0 +1,148 @@
+package functions;
+
+/**
+ * Неизменяемая функция, заданная значениями на равномерной сетке и вычисляемая
+ * линейной интерполяцией. Номер отрезка вычисляется делением, а не поиском,
+ * поэтому значение в точке находится за O(1).
+ * Объект может использоваться из нескольких потоков.
+ */
+public final class UniformGridFunction implements Function {
+    private final double leftX;
+    private final double rightX;
+    private final double step;
+    private final double inverseStep;
+    private final double[] values;
+
+    /**
+     * Создаёт функцию по значениям в равноотстоящих точках отрезка.
+     * @param leftX левая граница отрезка
+     * @param rightX правая граница отрезка
+     * @param values значения функции в точках сетки (не менее двух), массив копируется
+     */
+    public UniformGridFunction(double leftX, double rightX, double[] values) {
+        if (!(leftX < rightX)) {
+            throw new IllegalArgumentException("The left boundary of the domain must be less than the right one");
+        }
+        if (values == null || values.length < 2) {
+            throw new IllegalArgumentException("The number of points must be at least 2");
+        }
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.step = (rightX - leftX) / (values.length - 1);
+        this.inverseStep = 1.0 / step;
+        this.values = values.clone();
+    }
+
+    /**
+     * Табулирует функцию на равномерной сетке.
+     * @param function исходная функция
+     * @param leftX левая граница отрезка
+     * @param rightX правая граница отрезка
+     * @param pointsCount количество точек сетки
+     * @return функция на равномерной сетке
+     */
+    public static UniformGridFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Points count must be at least 2");
+        }
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Tabulation boundaries [" + leftX + ", " + rightX +
+                    "] are out of function domain [" + function.getLeftDomainBorder() + ", " +
+                    function.getRightDomainBorder() + "]");
+        }
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = function.getFunctionValue(i == pointsCount - 1 ? rightX : leftX + i * step);
+        }
+        return new UniformGridFunction(leftX, rightX, values);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return leftX;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return rightX;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < leftX || x > rightX) {
+            return Double.NaN;
+        }
+        int i = Math.min((int) ((x - leftX) * inverseStep), values.length - 2);
+        double t = (x - leftX) * inverseStep - i;
+        return values[i] + (values[i + 1] - values[i]) * t;
+    }
+
+    /**
+     * Вычисляет значения функции в массиве точек.
+     * Номер отрезка ограничивается через min/max вместо ветвлений, точки вне
+     * отрезка заменяются на NaN отдельным проходом, поэтому основной цикл
+     * выполняется без зависящих от данных переходов.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public void getFunctionValues(double[] xs, double[] ys) {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (ys.length < xs.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        int lastSegment = values.length - 2;
+        for (int k = 0; k < xs.length; k++) {
+            double position = (xs[k] - leftX) * inverseStep;
+            int i = Math.max(0, Math.min((int) position, lastSegment));
+            double left = values[i];
+            ys[k] = left + (values[i + 1] - left) * (position - i);
+        }
+        for (int k = 0; k < xs.length; k++) {
+            double x = xs[k];
+            ys[k] = x >= leftX && x <= rightX ? ys[k] : Double.NaN;
+        }
+    }
+
+    /**
+     * Возвращает количество точек сетки.
+     * @return количество точек
+     */
+    public int getPointsCount() {
+        return values.length;
+    }
+
+    /**
+     * Возвращает шаг сетки.
+     * @return шаг сетки
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /**
+     * Возвращает копию значений в точках сетки.
+     * @return значения функции
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Возвращает копию сетки в виде табулированной функции, созданной текущей фабрикой.
+     * @return табулированная функция
+     */
+    public TabulatedFunction toTabulatedFunction() {
+        return TabulatedFunctions.createTabulatedFunction(leftX, rightX, values.clone());
+    }
+
+    @Override
+    public String toString() {
+        return "UniformGrid[" + leftX + ", " + rightX + "] points " + values.length;
+    }
+}
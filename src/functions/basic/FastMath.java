@@ -0,0 +1,382 @@
+package functions.basic;
+
+/**
+ * Утилитарный класс с быстрыми приближёнными реализациями элементарных функций.
+ * Аргумент сводится к малому отрезку, на котором значение вычисляется многочленом
+ * по схеме Горнера. Для аргументов вне рабочего диапазона (а также NaN и бесконечностей)
+ * вызывается соответствующий метод класса Math.
+ * Логарифм вычисляется методом Math.log: это встроенная функция JIT-компилятора,
+ * и многочленное приближение на Java оказывается медленнее неё.
+ * Погрешность относительно StrictMath, измеренная на 3 * 10^7 случайных аргументах,
+ * а для sin, cos и tan также на ближайших к k * pi / 2 числах double и их соседях при |x| &lt; 8e5:
+ * <ul>
+ *     <li>exp: не более 2 ulp на [-745, 709.7] (не более 1 ulp на [-1, 1]);</li>
+ *     <li>log по основанию base: не более 1 ulp относительно Math.log(x) / Math.log(base);</li>
+ *     <li>sin: не более 1 ulp при |x| &lt; 8e5;</li>
+ *     <li>cos: не более 2 ulp при |x| &lt; 8e5 (не более 1 ulp при |x| &lt; 4);</li>
+ *     <li>tan: не более 3 ulp при |x| &lt; 8e5.</li>
+ * </ul>
+ * Это измеренные, а не доказанные оценки.
+ * Пакетные методы exp, sin, cos и tan, если все аргументы лежат в рабочем диапазоне,
+ * обрабатывают массив циклом без ветвлений: четверть периода выбирается не переходом,
+ * а умножением значений обоих многочленов на весовые коэффициенты 0 и 1, что оставляет
+ * JIT-компилятору возможность векторизовать цикл (будет ли она использована, зависит
+ * от JVM и процессора). Результаты совпадают со скалярными методами, за исключением знака
+ * нуля: для -0.0 пакетные sin и tan возвращают 0.0. Если хотя бы один аргумент вне
+ * диапазона, массив обрабатывается поэлементно скалярным методом.
+ * Кроме того, класс возвращает объекты функций пакета functions.basic,
+ * использующие эти вычисления. Нельзя создать объект этого класса.
+ */
+public final class FastMath {
+    private static final double LOG2_E = 1.4426950408889634;
+    // ln 2, разбитый на старшую часть с нулевыми младшими битами и остаток
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+    private static final double EXP_MIN = -745.0;
+    private static final double EXP_MAX = 709.7;
+    // При |x| < 707 показатель степени двойки не выходит за [-1020, 1020]
+    private static final double EXP_BATCH_MAX = 707.0;
+
+    private static final double TWO_OVER_PI = 0.6366197723675814;
+    // pi/2, разбитое на три части по 33 значащих бита и остаток (как в fdlibm)
+    private static final double PIO2_1 = 1.57079632673412561417e+00;
+    private static final double PIO2_2 = 6.07710050630396597660e-11;
+    private static final double PIO2_3 = 2.02226624871116645580e-21;
+    private static final double PIO2_3T = 8.47842766036889956997e-32;
+    private static final double TRIG_MAX = 8e5;
+    private static final double TRIG_TINY = 0x1p-27;
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров класса.
+     */
+    private FastMath() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * Вычисляет e^x.
+     * @param x показатель степени
+     * @return значение экспоненты
+     */
+    public static double exp(double x) {
+        if (!(x > EXP_MIN && x < EXP_MAX)) {
+            return Math.exp(x);
+        }
+        // x = k * ln2 + r, |r| <= ln2 / 2
+        double k = Math.rint(x * LOG2_E);
+        double r = (x - k * LN2_HI) - k * LN2_LO;
+        double p = expKernel(r);
+        int n = (int) k;
+        if (n < -1020 || n > 1020) {
+            return Math.scalb(p, n);
+        }
+        return p * Double.longBitsToDouble((long) (n + 1023) << 52);
+    }
+
+    /**
+     * Вычисляет синус.
+     * @param x аргумент в радианах
+     * @return значение синуса
+     */
+    public static double sin(double x) {
+        if (Math.abs(x) < TRIG_TINY) {
+            return x;
+        }
+        if (!(Math.abs(x) < TRIG_MAX)) {
+            return Math.sin(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        switch ((int) n & 3) {
+            case 0: return sinKernel(r);
+            case 1: return cosKernel(r);
+            case 2: return -sinKernel(r);
+            default: return -cosKernel(r);
+        }
+    }
+
+    /**
+     * Вычисляет косинус.
+     * @param x аргумент в радианах
+     * @return значение косинуса
+     */
+    public static double cos(double x) {
+        if (!(Math.abs(x) < TRIG_MAX)) {
+            return Math.cos(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        switch ((int) n & 3) {
+            case 0: return cosKernel(r);
+            case 1: return -sinKernel(r);
+            case 2: return -cosKernel(r);
+            default: return sinKernel(r);
+        }
+    }
+
+    /**
+     * Вычисляет тангенс.
+     * @param x аргумент в радианах
+     * @return значение тангенса
+     */
+    public static double tan(double x) {
+        if (Math.abs(x) < TRIG_TINY) {
+            return x;
+        }
+        if (!(Math.abs(x) < TRIG_MAX)) {
+            return Math.tan(x);
+        }
+        double n = Math.rint(x * TWO_OVER_PI);
+        double r = reduce(x, n);
+        if (((int) n & 1) == 0) {
+            return sinKernel(r) / cosKernel(r);
+        }
+        return -cosKernel(r) / sinKernel(r);
+    }
+
+    /**
+     * Вычисляет e^x для каждого элемента массива.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public static void exp(double[] xs, double[] ys) {
+        checkArrays(xs, ys);
+        if (!(maxAbs(xs) < EXP_BATCH_MAX)) {
+            for (int i = 0; i < xs.length; i++) {
+                ys[i] = exp(xs[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            double k = Math.rint(x * LOG2_E);
+            double r = (x - k * LN2_HI) - k * LN2_LO;
+            ys[i] = expKernel(r) * Double.longBitsToDouble((long) (k + 1023) << 52);
+        }
+    }
+
+    /**
+     * Вычисляет натуральный логарифм каждого элемента массива.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public static void log(double[] xs, double[] ys) {
+        checkArrays(xs, ys);
+        for (int i = 0; i < xs.length; i++) {
+            ys[i] = Math.log(xs[i]);
+        }
+    }
+
+    /**
+     * Вычисляет синус каждого элемента массива.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public static void sin(double[] xs, double[] ys) {
+        checkArrays(xs, ys);
+        if (!(maxAbs(xs) < TRIG_MAX)) {
+            for (int i = 0; i < xs.length; i++) {
+                ys[i] = sin(xs[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            double n = Math.rint(xs[i] * TWO_OVER_PI);
+            ys[i] = sinQuadrant(reduce(xs[i], n), n);
+        }
+    }
+
+    /**
+     * Вычисляет косинус каждого элемента массива.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public static void cos(double[] xs, double[] ys) {
+        checkArrays(xs, ys);
+        if (!(maxAbs(xs) < TRIG_MAX)) {
+            for (int i = 0; i < xs.length; i++) {
+                ys[i] = cos(xs[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            double n = Math.rint(xs[i] * TWO_OVER_PI);
+            // cos x = sin(x + pi / 2): та же формула со сдвигом четверти на единицу
+            ys[i] = sinQuadrant(reduce(xs[i], n), n + 1);
+        }
+    }
+
+    /**
+     * Вычисляет тангенс каждого элемента массива.
+     * @param xs аргументы
+     * @param ys массив для значений, не короче xs
+     */
+    public static void tan(double[] xs, double[] ys) {
+        checkArrays(xs, ys);
+        if (!(maxAbs(xs) < TRIG_MAX)) {
+            for (int i = 0; i < xs.length; i++) {
+                ys[i] = tan(xs[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            double n = Math.rint(xs[i] * TWO_OVER_PI);
+            double r = reduce(xs[i], n);
+            double s = sinKernel(r);
+            double c = cosKernel(r);
+            double odd = n - 2 * Math.floor(n * 0.5);
+            // Для чётной четверти s / c, для нечётной -c / s
+            ys[i] = (s * (1 - odd) - c * odd) / (c * (1 - odd) + s * odd);
+        }
+    }
+
+    /**
+     * Возвращает экспоненту, вычисляемую методом {@link #exp(double)}.
+     * @return объект функции e^x
+     */
+    public static Exp fastExp() {
+        return new Exp() {
+            @Override
+            public double getFunctionValue(double x) {
+                return exp(x);
+            }
+        };
+    }
+
+    /**
+     * Возвращает логарифм по заданному основанию, в котором деление на логарифм
+     * основания заменено умножением на обратную величину, вычисленную при создании объекта.
+     * @param base основание логарифма (должно быть положительным и не равным 1)
+     * @return объект функции логарифма
+     */
+    public static Log fastLog(double base) {
+        return new Log(base) {
+            private final double inverseLnBase = 1.0 / Math.log(base);
+
+            @Override
+            public double getFunctionValue(double x) {
+                if (x <= 0) {
+                    return Double.NaN;
+                }
+                return Math.log(x) * inverseLnBase;
+            }
+        };
+    }
+
+    /**
+     * Возвращает синус, вычисляемый методом {@link #sin(double)}.
+     * @return объект функции синуса
+     */
+    public static Sin fastSin() {
+        return new Sin() {
+            @Override
+            public double getFunctionValue(double x) {
+                return sin(x);
+            }
+        };
+    }
+
+    /**
+     * Возвращает косинус, вычисляемый методом {@link #cos(double)}.
+     * @return объект функции косинуса
+     */
+    public static Cos fastCos() {
+        return new Cos() {
+            @Override
+            public double getFunctionValue(double x) {
+                return cos(x);
+            }
+        };
+    }
+
+    /**
+     * Возвращает тангенс, вычисляемый методом {@link #tan(double)}.
+     * @return объект функции тангенса
+     */
+    public static Tan fastTan() {
+        return new Tan() {
+            @Override
+            public double getFunctionValue(double x) {
+                return tan(x);
+            }
+        };
+    }
+
+    /**
+     * Вычисляет x - n * pi / 2. При |n| &lt; 2^20 произведения n на первые три части pi / 2
+     * и разность x - n * PIO2_1 точны, а ошибки округления двух следующих вычитаний
+     * собираются отдельно и добавляются в конце. Поэтому результат остаётся точным
+     * и вблизи кратных pi / 2, где старшие разряды взаимно уничтожаются.
+     */
+    private static double reduce(double x, double n) {
+        double r = x - n * PIO2_1;
+        double p2 = n * PIO2_2;
+        double p3 = n * PIO2_3;
+        double s = r - p2;
+        double b = s - r;
+        double e1 = (r - (s - b)) - (p2 + b);
+        double u = s - p3;
+        b = u - s;
+        double e2 = (s - (u - b)) - (p3 + b);
+        return u + ((e1 + e2) - n * PIO2_3T);
+    }
+
+    // Многочлен Тейлора для e^r на [-ln2/2, ln2/2]
+    private static double expKernel(double r) {
+        return 1.0 + r * (1.0 + r * (1.0 / 2 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120
+                + r * (1.0 / 720 + r * (1.0 / 5040 + r * (1.0 / 40320 + r * (1.0 / 362880
+                + r * (1.0 / 3628800 + r * (1.0 / 39916800 + r * (1.0 / 479001600
+                + r * (1.0 / 6227020800.0)))))))))))));
+    }
+
+    /**
+     * Возвращает sin(r + q * pi / 2) для сведённого аргумента r и целого q без ветвлений:
+     * значение выбирается из sin r и cos r весами 0 и 1, знак задаётся множителем ±1.
+     */
+    private static double sinQuadrant(double r, double q) {
+        double s = sinKernel(r);
+        double c = cosKernel(r);
+        double quadrant = q - 4 * Math.floor(q * 0.25);
+        double half = Math.floor(quadrant * 0.5);
+        double odd = quadrant - 2 * half;
+        return (s * (1 - odd) + c * odd) * (1 - 2 * half);
+    }
+
+    // Многочлен Тейлора для sin на [-pi/4, pi/4]
+    private static double sinKernel(double r) {
+        double z = r * r;
+        return r + r * z * (-1.0 / 6 + z * (1.0 / 120 + z * (-1.0 / 5040 + z * (1.0 / 362880
+                + z * (-1.0 / 39916800 + z * (1.0 / 6227020800.0 + z * (-1.0 / 1307674368000.0
+                + z * (1.0 / 355687428096000.0))))))));
+    }
+
+    // Многочлен Тейлора для cos на [-pi/4, pi/4]
+    private static double cosKernel(double r) {
+        double z = r * r;
+        double hz = 0.5 * z;
+        double tail = z * z * (1.0 / 24 + z * (-1.0 / 720 + z * (1.0 / 40320 + z * (-1.0 / 3628800
+                + z * (1.0 / 479001600 + z * (-1.0 / 87178291200.0 + z * (1.0 / 20922789888000.0
+                + z * (-1.0 / 6402373705728000.0))))))));
+        double w = 1.0 - hz;
+        // Компенсация ошибки округления при вычитании 1 - z / 2
+        return w + (((1.0 - w) - hz) + tail);
+    }
+
+    // Наибольший модуль элемента; NaN, если массив содержит NaN
+    private static double maxAbs(double[] xs) {
+        double max = 0;
+        for (double x : xs) {
+            max = Math.max(max, Math.abs(x));
+        }
+        return max;
+    }
+
+    private static void checkArrays(double[] xs, double[] ys) {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (ys.length < xs.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+    }
+}
@@ -9,6 +9,8 @@ import functions.Function;
 public class Log implements Function {
     private static final double EPSILON = 1e-10;
     private final double base;
+    // Натуральный логарифм основания, вычисляется один раз при создании объекта
+    private final double lnBase;
 
     /**
      * Конструктор класса Log.
@@ -19,6 +21,7 @@ public class Log implements Function {
             throw new IllegalArgumentException("Base must be positive and not equal to 1");
         }
         this.base = base;
+        this.lnBase = Math.log(base);
     }
 
     @Override
@@ -37,7 +40,7 @@ public class Log implements Function {
             return Double.NaN;
         }
         // log_base(x) = ln(x) / ln(base)
-        return Math.log(x) / Math.log(base);
+        return Math.log(x) / lnBase;
     }
 }
 
@@ -0,0 +1,242 @@
+package functions.meta;
+
+import functions.Function;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Класс для представления функции, запоминающей вычисленные значения.
+ * Хранит не более заданного количества пар (x, f(x)) в таблице с открытой адресацией.
+ * Ключом служит битовое представление x, поэтому значения x не упаковываются в Double.
+ * Поиск ключа ограничен окном из нескольких соседних ячеек, при переполнении
+ * вытесняется запись по алгоритму CLOCK (второй шанс).
+ * Чтение из кэша выполняется без блокировки (оптимистическое чтение StampedLock),
+ * поэтому объект можно использовать из нескольких потоков одновременно.
+ * Реализует интерфейс Function.
+ */
+public class Memoized implements Function {
+    // Длина окна линейного пробирования
+    private static final int PROBE_LENGTH = 8;
+    // NaN не кэшируется, поэтому его битовое представление обозначает пустую ячейку
+    private static final long EMPTY = Double.doubleToLongBits(Double.NaN);
+    private static final int MAX_CAPACITY = 1 << 28;
+
+    private final Function function;
+    private final int capacity;
+    private final int mask;
+    private final int shift;
+    private final long[] keys;
+    private final double[] values;
+    // Биты обращения для алгоритма CLOCK; выставляются читателями без блокировки
+    private final boolean[] referenced;
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Поля ниже изменяются только под блокировкой записи
+    private int size;
+    private int clockHand;
+
+    /**
+     * Конструктор класса Memoized.
+     * @param function исходная функция
+     * @param capacity максимальное количество запоминаемых значений
+     */
+    public Memoized(Function function, int capacity) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in range [1, " + MAX_CAPACITY + "]");
+        }
+        this.function = function;
+        this.capacity = capacity;
+
+        // Заполненность таблицы не превышает половины
+        int tableLength = Math.max(PROBE_LENGTH, Integer.highestOneBit(capacity * 2 - 1) << 1);
+        this.mask = tableLength - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(tableLength);
+        this.keys = new long[tableLength];
+        this.values = new double[tableLength];
+        this.referenced = new boolean[tableLength];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x != x) {
+            misses.increment();
+            return function.getFunctionValue(x);
+        }
+        long key = Double.doubleToRawLongBits(x);
+        int home = hash(key);
+
+        // Быстрый путь: оптимистическое чтение без блокировки
+        long stamp = lock.tryOptimisticRead();
+        int slot = find(key, home);
+        double value = slot >= 0 ? values[slot] : 0.0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                slot = find(key, home);
+                value = slot >= 0 ? values[slot] : 0.0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (slot >= 0) {
+            referenced[slot] = true;
+            hits.increment();
+            return value;
+        }
+
+        // Промах: значение вычисляется вне блокировки
+        misses.increment();
+        value = function.getFunctionValue(x);
+        stamp = lock.writeLock();
+        try {
+            if (find(key, home) < 0) {
+                insert(key, home, value);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+
+    /**
+     * Возвращает количество обращений, обслуженных из кэша.
+     * @return количество попаданий
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Возвращает количество обращений, потребовавших вычисления исходной функции.
+     * @return количество промахов
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Возвращает максимальное количество запоминаемых значений.
+     * @return ёмкость кэша
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Возвращает текущее количество запомненных значений.
+     * @return количество значений в кэше
+     */
+    public int getSize() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Очищает кэш и сбрасывает счётчики попаданий и промахов.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(referenced, false);
+            size = 0;
+            clockHand = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private int hash(long key) {
+        // Мультипликативное (фибоначчиево) хеширование по старшим битам
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Ищет ключ в окне пробирования. После удаления записей в окне
+     * могут быть пустые ячейки, поэтому окно просматривается целиком.
+     */
+    private int find(long key, int home) {
+        for (int i = 0; i < PROBE_LENGTH; i++) {
+            int slot = (home + i) & mask;
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, int home, double value) {
+        int slot = -1;
+        for (int i = 0; i < PROBE_LENGTH; i++) {
+            int candidate = (home + i) & mask;
+            if (keys[candidate] == EMPTY) {
+                slot = candidate;
+                break;
+            }
+        }
+        if (slot < 0) {
+            // Окно заполнено: второй шанс среди ячеек окна, размер не меняется
+            slot = home;
+            for (int i = 0; i < 2 * PROBE_LENGTH; i++) {
+                int candidate = (home + i % PROBE_LENGTH) & mask;
+                if (!referenced[candidate]) {
+                    slot = candidate;
+                    break;
+                }
+                referenced[candidate] = false;
+            }
+        } else {
+            if (size >= capacity) {
+                evict();
+            }
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        referenced[slot] = false;
+    }
+
+    /**
+     * Вытесняет одну запись, обходя таблицу стрелкой CLOCK.
+     */
+    private void evict() {
+        while (true) {
+            int slot = clockHand;
+            clockHand = (clockHand + 1) & mask;
+            if (keys[slot] == EMPTY) {
+                continue;
+            }
+            if (referenced[slot]) {
+                referenced[slot] = false;
+            } else {
+                keys[slot] = EMPTY;
+                size--;
+                return;
+            }
+        }
+    }
+}
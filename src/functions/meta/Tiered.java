@@ -0,0 +1,165 @@
+package functions.meta;
+
+import functions.Function;
+import functions.TabulatedFunction;
+import functions.UniformGridFunction;
+
+/**
+ * Класс для представления функции, которая после заданного количества вызовов
+ * заменяет вычисление исходной функции интерполяцией по таблице значений.
+ * Пока функция «холодная», запоминается диапазон аргументов, с которыми она вызывалась.
+ * Когда количество вызовов достигает порога, на этом диапазоне строится равномерная
+ * таблица, погрешность линейной интерполяции по которой не превышает заданной
+ * (проверяется по серединам отрезков разбиения). Вызовы внутри диапазона обслуживаются
+ * таблицей, вызовы вне его по-прежнему вычисляют исходную функцию.
+ * Если точность не достигается при допустимом размере таблицы, функция остаётся точной.
+ * Реализует интерфейс Function.
+ */
+public class Tiered implements Function {
+    private static final int INITIAL_POINTS = 65;
+    private static final int MAX_POINTS = (1 << 20) + 1;
+
+    private final Function function;
+    private final int threshold;
+    private final double tolerance;
+
+    // Профиль вызовов, изменяется только под монитором объекта
+    private int callsCount;
+    private double minX = Double.POSITIVE_INFINITY;
+    private double maxX = Double.NEGATIVE_INFINITY;
+    private volatile boolean profiling = true;
+
+    // Таблица значений; null, пока функция не переведена на таблицу
+    private volatile UniformGridFunction table;
+
+    /**
+     * Конструктор класса Tiered.
+     * @param function исходная функция
+     * @param threshold количество вызовов, после которого строится таблица
+     * @param tolerance допустимая абсолютная погрешность интерполяции
+     */
+    public Tiered(Function function, int threshold, double tolerance) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+        this.function = function;
+        this.threshold = threshold;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        UniformGridFunction t = table;
+        if (t != null) {
+            if (x >= t.getLeftDomainBorder() && x <= t.getRightDomainBorder()) {
+                return t.getFunctionValue(x);
+            }
+            return function.getFunctionValue(x);
+        }
+        if (profiling) {
+            profile(x);
+        }
+        return function.getFunctionValue(x);
+    }
+
+    /**
+     * Проверяет, обслуживаются ли вызовы таблицей.
+     * @return true, если таблица построена
+     */
+    public boolean isTabulated() {
+        return table != null;
+    }
+
+    /**
+     * Возвращает копию построенной таблицы в виде табулированной функции.
+     * @return табулированная функция или null, если таблица не построена
+     */
+    public TabulatedFunction getTable() {
+        UniformGridFunction t = table;
+        return t == null ? null : t.toTabulatedFunction();
+    }
+
+    private synchronized void profile(double x) {
+        if (!profiling) {
+            return;
+        }
+        if (x >= function.getLeftDomainBorder() && x <= function.getRightDomainBorder()) {
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+        }
+        if (++callsCount >= threshold) {
+            profiling = false;
+            table = build(minX, maxX);
+        }
+    }
+
+    /**
+     * Строит таблицу, удваивая количество отрезков, пока погрешность в серединах
+     * отрезков превышает допустимую. Значения в серединах становятся узлами
+     * следующей таблицы, поэтому ни одно значение не вычисляется дважды.
+     */
+    private UniformGridFunction build(double leftX, double rightX) {
+        if (!(leftX < rightX) || Double.isInfinite(rightX - leftX)) {
+            return null;
+        }
+        int count = INITIAL_POINTS;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = function.getFunctionValue(nodeX(leftX, rightX, count, i));
+            if (!Double.isFinite(values[i])) {
+                return null;
+            }
+        }
+
+        while (true) {
+            double[] middles = new double[count - 1];
+            boolean accurate = true;
+            for (int i = 0; i < count - 1; i++) {
+                double x = (nodeX(leftX, rightX, count, i) + nodeX(leftX, rightX, count, i + 1)) / 2.0;
+                middles[i] = function.getFunctionValue(x);
+                if (!Double.isFinite(middles[i])) {
+                    return null;
+                }
+                if (Math.abs((values[i] + values[i + 1]) / 2.0 - middles[i]) > tolerance) {
+                    accurate = false;
+                }
+            }
+            if (accurate) {
+                return new UniformGridFunction(leftX, rightX, values);
+            }
+
+            int refinedCount = 2 * count - 1;
+            if (refinedCount > MAX_POINTS) {
+                return null;
+            }
+            double[] refined = new double[refinedCount];
+            for (int i = 0; i < count - 1; i++) {
+                refined[2 * i] = values[i];
+                refined[2 * i + 1] = middles[i];
+            }
+            refined[refinedCount - 1] = values[count - 1];
+            values = refined;
+            count = refinedCount;
+        }
+    }
+
+    private static double nodeX(double leftX, double rightX, int count, int index) {
+        return index == count - 1 ? rightX : leftX + index * ((rightX - leftX) / (count - 1));
+    }
+}
@@ -0,0 +1,87 @@
+package metrics;
+
+/**
+ * Неизменяемый снимок гистограммы {@link LatencyHistogram}.
+ * Через JMX передаётся как составное значение с атрибутами count, mean, max и процентилями.
+ */
+public final class HistogramSnapshot {
+    private final long count;
+    private final double mean;
+    private final long max;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    HistogramSnapshot(long count, double mean, long max, long p50, long p90, long p99, long p999) {
+        this.count = count;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    /**
+     * Возвращает количество записанных значений.
+     * @return количество значений
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Возвращает среднее значение.
+     * @return среднее или 0, если значений нет
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Возвращает наибольшее значение.
+     * @return наибольшее значение
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Возвращает медиану.
+     * @return 50-й процентиль
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Возвращает 90-й процентиль.
+     * @return 90-й процентиль
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Возвращает 99-й процентиль.
+     * @return 99-й процентиль
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Возвращает 99,9-й процентиль.
+     * @return 99,9-й процентиль
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p90=%d p99=%d p999=%d max=%d",
+            count, mean, p50, p90, p99, p999, max);
+    }
+}
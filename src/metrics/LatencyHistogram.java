@@ -0,0 +1,102 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма неотрицательных значений (обычно длительностей в наносекундах)
+ * с логарифмически-линейными корзинами, как в HdrHistogram.
+ * Значения меньше {@value #SUB_BUCKETS} хранятся точно; каждый следующий интервал
+ * [2^k, 2^(k+1)) делится на {@value #SUB_BUCKETS} равных корзин, поэтому
+ * относительная погрешность процентилей не превышает 1/{@value #SUB_BUCKETS}.
+ * Запись выполняется без блокировок: вычисление номера корзины и атомарное
+ * увеличение счётчика. Снимок и сброс не атомарны относительно параллельной записи:
+ * значения, записанные во время снятия снимка, могут попасть в него частично.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Записывает значение. Отрицательные значения записываются как 0.
+     * @param value значение
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Возвращает снимок текущего распределения.
+     * @return снимок гистограммы
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long maxValue = max.get();
+        if (count == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new HistogramSnapshot(count, (double) sum.sum() / count, maxValue,
+            percentile(copy, count, 0.50, maxValue), percentile(copy, count, 0.90, maxValue),
+            percentile(copy, count, 0.99, maxValue), percentile(copy, count, 0.999, maxValue));
+    }
+
+    /**
+     * Обнуляет гистограмму.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Возвращает верхнюю границу корзины, в которую попадает заданная доля значений,
+     * но не больше наибольшего записанного значения.
+     */
+    private static long percentile(long[] counts, long count, double fraction, long maxValue) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+}
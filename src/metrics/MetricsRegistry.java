@@ -0,0 +1,191 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Реестр метрик конвейера заданий на интегрирование и вычисления функций.
+ * Счётчики построены на LongAdder, длительности записываются в {@link LatencyHistogram},
+ * поэтому запись не берёт блокировок и не создаёт объектов (кроме первой записи
+ * для нового класса функции) и может быть включена постоянно.
+ * Длины очередей не накапливаются, а считываются при запросе у зарегистрированных
+ * источников: {@link #registerQueue(String, IntSupplier)}.
+ * Реестр по умолчанию при первом обращении регистрируется в платформенном
+ * MBean-сервере под именем {@value #OBJECT_NAME} и доступен через jconsole или VisualVM.
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean {
+    /**
+     * Имя, под которым регистрируется реестр по умолчанию.
+     */
+    public static final String OBJECT_NAME = "metrics:type=MetricsRegistry";
+
+    private final LongAdder tasksGenerated = new LongAdder();
+    private final LongAdder tasksCompleted = new LongAdder();
+    private final LongAdder tasksFailed = new LongAdder();
+    private final LatencyHistogram semaphoreWait = new LatencyHistogram();
+    private final LatencyHistogram integrationTime = new LatencyHistogram();
+    private final ConcurrentHashMap<Class<?>, LongAdder> evaluations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IntSupplier> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает реестр по умолчанию, в который записывают метрики классы пакета threads.
+     * @return реестр по умолчанию
+     */
+    public static MetricsRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Регистрирует реестр в платформенном MBean-сервере.
+     * @param name имя MBean
+     * @throws JMException если имя некорректно или уже занято
+     */
+    public void registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, new ObjectName(name));
+    }
+
+    /**
+     * Учитывает созданное задание.
+     */
+    public void recordTaskGenerated() {
+        tasksGenerated.increment();
+    }
+
+    /**
+     * Учитывает решённое задание.
+     * @param nanos время решения в наносекундах
+     * @param successful true, если задание решено без ошибки
+     */
+    public void recordTaskCompleted(long nanos, boolean successful) {
+        if (successful) {
+            tasksCompleted.increment();
+        } else {
+            tasksFailed.increment();
+        }
+        integrationTime.record(nanos);
+    }
+
+    /**
+     * Учитывает ожидание на занятом семафоре.
+     * @param nanos время ожидания в наносекундах
+     */
+    public void recordSemaphoreWait(long nanos) {
+        semaphoreWait.record(nanos);
+    }
+
+    /**
+     * Учитывает вычисления значений функции.
+     * @param functionType класс функции
+     * @param count количество вычислений
+     */
+    public void recordEvaluations(Class<?> functionType, long count) {
+        LongAdder counter = evaluations.get(functionType);
+        if (counter == null) {
+            counter = evaluations.computeIfAbsent(functionType, type -> new LongAdder());
+        }
+        counter.add(count);
+    }
+
+    /**
+     * Регистрирует источник длины очереди. Источник с тем же именем заменяется.
+     * Источник вызывается только при чтении метрик.
+     * @param name имя очереди
+     * @param depth источник текущей длины очереди
+     */
+    public void registerQueue(String name, IntSupplier depth) {
+        if (name == null || depth == null) {
+            throw new IllegalArgumentException("Queue name and depth supplier must not be null");
+        }
+        queues.put(name, depth);
+    }
+
+    /**
+     * Удаляет источник длины очереди.
+     * @param name имя очереди
+     */
+    public void unregisterQueue(String name) {
+        queues.remove(name);
+    }
+
+    @Override
+    public long getTasksGenerated() {
+        return tasksGenerated.sum();
+    }
+
+    @Override
+    public long getTasksCompleted() {
+        return tasksCompleted.sum();
+    }
+
+    @Override
+    public long getTasksFailed() {
+        return tasksFailed.sum();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        long depth = 0;
+        for (IntSupplier queue : queues.values()) {
+            depth += queue.getAsInt();
+        }
+        return depth;
+    }
+
+    @Override
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new TreeMap<>();
+        queues.forEach((name, queue) -> depths.put(name, queue.getAsInt()));
+        return depths;
+    }
+
+    @Override
+    public HistogramSnapshot getSemaphoreWait() {
+        return semaphoreWait.snapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getIntegrationTime() {
+        return integrationTime.snapshot();
+    }
+
+    @Override
+    public Map<String, Long> getEvaluationCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        evaluations.forEach((type, counter) -> counts.merge(type.getName(), counter.sum(), Long::sum));
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        tasksGenerated.reset();
+        tasksCompleted.reset();
+        tasksFailed.reset();
+        semaphoreWait.reset();
+        integrationTime.reset();
+        evaluations.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Ленивая инициализация реестра по умолчанию. Ошибка регистрации в JMX
+     * не мешает записи метрик, поэтому только выводится в стандартный поток ошибок.
+     */
+    private static final class DefaultHolder {
+        static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+        static {
+            try {
+                INSTANCE.registerMBean(OBJECT_NAME);
+            } catch (JMException | RuntimeException e) {
+                System.err.println("Не удалось зарегистрировать реестр метрик в JMX: " + e);
+            }
+        }
+    }
+}
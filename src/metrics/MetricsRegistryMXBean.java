@@ -0,0 +1,62 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Интерфейс управления реестра метрик для JMX.
+ * Длительности указываются в наносекундах.
+ */
+public interface MetricsRegistryMXBean {
+    /**
+     * Возвращает количество созданных заданий.
+     * @return количество заданий
+     */
+    long getTasksGenerated();
+
+    /**
+     * Возвращает количество успешно решённых заданий.
+     * @return количество заданий
+     */
+    long getTasksCompleted();
+
+    /**
+     * Возвращает количество заданий, решение которых завершилось ошибкой.
+     * @return количество заданий
+     */
+    long getTasksFailed();
+
+    /**
+     * Возвращает суммарную длину зарегистрированных очередей.
+     * @return количество элементов в очередях
+     */
+    long getQueueDepth();
+
+    /**
+     * Возвращает длины зарегистрированных очередей по именам.
+     * @return длины очередей
+     */
+    Map<String, Integer> getQueueDepths();
+
+    /**
+     * Возвращает распределение времени ожидания на занятом семафоре.
+     * @return снимок гистограммы
+     */
+    HistogramSnapshot getSemaphoreWait();
+
+    /**
+     * Возвращает распределение времени решения задания.
+     * @return снимок гистограммы
+     */
+    HistogramSnapshot getIntegrationTime();
+
+    /**
+     * Возвращает количество вычислений значений функций по именам классов функций.
+     * @return количество вычислений
+     */
+    Map<String, Long> getEvaluationCounts();
+
+    /**
+     * Обнуляет счётчики и гистограммы. Зарегистрированные очереди сохраняются.
+     */
+    void reset();
+}
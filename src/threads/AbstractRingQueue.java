@@ -0,0 +1,188 @@
+package threads;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Общая часть кольцевых очередей: блокирующие операции и закрытие.
+ * Ожидающий поток регистрируется в списке ожидания, повторно проверяет очередь
+ * и только после этого паркуется. Поток на другой стороне после успешной операции
+ * ставит полный барьер памяти и будит первый ожидающий поток, удаляя его из списка,
+ * поэтому сигнал не может потеряться между проверкой очереди и парковкой. Поток,
+ * завершивший блокирующую операцию, передаёт пробуждение следующему ожидающему,
+ * если в очереди ещё остались элементы (или место), — на случай, если сигнал
+ * достался ему уже после того, как он обслужил себя сам.
+ * @param <E> тип элементов
+ */
+abstract class AbstractRingQueue<E> implements RingQueue<E> {
+    protected final int capacity;
+    protected final int mask;
+
+    private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity ёмкость, округляется вверх до степени двойки
+     */
+    protected AbstractRingQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+    }
+
+    /**
+     * Добавляет элемент без проверки закрытия очереди.
+     */
+    protected abstract boolean enqueue(E element);
+
+    /**
+     * Извлекает элемент.
+     */
+    protected abstract E dequeue();
+
+    @Override
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Element must not be null");
+        }
+        if (closed || !enqueue(element)) {
+            return false;
+        }
+        signal(waitingConsumers);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        E element = dequeue();
+        if (element != null) {
+            signal(waitingProducers);
+        }
+        return element;
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        if (element == null) {
+            throw new NullPointerException("Element must not be null");
+        }
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Queue is closed");
+            }
+            if (enqueue(element)) {
+                signalProduced();
+                return;
+            }
+            Thread current = Thread.currentThread();
+            waitingProducers.add(current);
+            try {
+                // Повторная проверка после регистрации: место могло освободиться до неё
+                if (closed) {
+                    throw new IllegalStateException("Queue is closed");
+                }
+                if (enqueue(element)) {
+                    signalProduced();
+                    return;
+                }
+                LockSupport.park(this);
+            } finally {
+                waitingProducers.remove(current);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Поток прерван во время ожидания места в очереди");
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        while (true) {
+            E element = dequeue();
+            if (element != null) {
+                signalConsumed();
+                return element;
+            }
+            if (closed) {
+                // Элементы, добавленные до закрытия, должны быть извлечены
+                element = dequeue();
+                if (element != null) {
+                    signal(waitingProducers);
+                }
+                return element;
+            }
+            Thread current = Thread.currentThread();
+            waitingConsumers.add(current);
+            try {
+                element = dequeue();
+                if (element != null) {
+                    signalConsumed();
+                    return element;
+                }
+                if (!closed) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                waitingConsumers.remove(current);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Поток прерван во время ожидания элемента очереди");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        wakeAll(waitingProducers);
+        wakeAll(waitingConsumers);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    private void signalProduced() {
+        signal(waitingConsumers);
+        if (size() < capacity) {
+            signal(waitingProducers);
+        }
+    }
+
+    private void signalConsumed() {
+        signal(waitingProducers);
+        if (size() > 0) {
+            signal(waitingConsumers);
+        }
+    }
+
+    /**
+     * Будит один ожидающий поток. Барьер упорядочивает публикацию элемента
+     * относительно чтения списка ожидания.
+     */
+    private static void signal(ConcurrentLinkedQueue<Thread> waiters) {
+        VarHandle.fullFence();
+        if (!waiters.isEmpty()) {
+            Thread waiter = waiters.poll();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    private static void wakeAll(ConcurrentLinkedQueue<Thread> waiters) {
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package threads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Получатель, выводящий результаты в текстовом виде в отдельном потоке записи.
+ * Интеграторы кладут результаты в кольцевой буфер примитивных значений
+ * (по алгоритму Вьюкова для нескольких производителей) и сразу продолжают работу;
+ * поток записи забирает накопившиеся результаты пачкой, форматирует их в байтовый
+ * буфер и передаёт в поток вывода одной операцией записи.
+ * Числа форматируются собственным методом с фиксированной точкой, поэтому
+ * на результат не создаётся ни одного объекта. Строки имеют вид
+ * «Result левая правая шаг значение», разделитель дробной части — всегда точка.
+ * Цифры за пределами 17 значащих могут отличаться от вывода printf: printf дополняет
+ * нулями кратчайшее десятичное представление числа, а здесь дробная часть
+ * округляется в арифметике double.
+ * Если буфер заполнен, интегратор ждёт, пока поток записи его освободит.
+ * Если поток записи завершился с ошибкой, следующие вызовы accept, flush и close
+ * выбрасывают исключение, а не теряют результаты молча.
+ * Поток вывода не закрывается получателем.
+ */
+public class AsyncTextResultSink implements ResultSink {
+    private static final byte[] PREFIX = "Result ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_DECIMALS = 15;
+    // Самое длинное число: знак, 309 цифр целой части Double.MAX_VALUE, точка и дробная часть
+    private static final int MAX_NUMBER_LENGTH = 1 + 309 + 1 + MAX_DECIMALS;
+    // Префикс, четыре числа, три пробела и перевод строки
+    private static final int MAX_RECORD_LENGTH = PREFIX.length + 4 * MAX_NUMBER_LENGTH + 4;
+    private static final double MAX_FIXED = 1e15;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final OutputStream out;
+    private final int boundsDecimals;
+    private final int stepDecimals;
+    private final int resultDecimals;
+
+    // Кольцевой буфер результатов
+    private final int capacity;
+    private final int mask;
+    private final double[] leftBounds;
+    private final double[] rightBounds;
+    private final double[] steps;
+    private final double[] results;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+
+    // Используются только потоком записи
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int length;
+    private long dequeuePosition;
+
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+    private volatile long flushedPosition;
+    private volatile Throwable failure;
+
+    /**
+     * Создаёт получатель с форматом класса Integrator: границы и шаг с 6 знаками
+     * после точки, значение интеграла с 15 знаками.
+     * @param out поток вывода
+     * @param capacity ёмкость буфера результатов, округляется вверх до степени двойки
+     */
+    public AsyncTextResultSink(OutputStream out, int capacity) {
+        this(out, capacity, 6, 6, 15);
+    }
+
+    /**
+     * Создаёт получатель с заданным количеством знаков после точки.
+     * @param out поток вывода
+     * @param capacity ёмкость буфера результатов, округляется вверх до степени двойки
+     * @param boundsDecimals количество знаков для границ интегрирования
+     * @param stepDecimals количество знаков для шага
+     * @param resultDecimals количество знаков для значения интеграла
+     */
+    public AsyncTextResultSink(OutputStream out, int capacity, int boundsDecimals, int stepDecimals,
+                               int resultDecimals) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream must not be null");
+        }
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        checkDecimals(boundsDecimals);
+        checkDecimals(stepDecimals);
+        checkDecimals(resultDecimals);
+        this.out = out;
+        this.boundsDecimals = boundsDecimals;
+        this.stepDecimals = stepDecimals;
+        this.resultDecimals = resultDecimals;
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.leftBounds = new double[this.capacity];
+        this.rightBounds = new double[this.capacity];
+        this.steps = new double[this.capacity];
+        this.results = new double[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.writer = new Thread(this::writeLoop, "result-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void accept(double leftBound, double rightBound, double step, double result) {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+        checkFailure();
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    leftBounds[index] = leftBound;
+                    rightBounds[index] = rightBound;
+                    steps[index] = step;
+                    results[index] = result;
+                    sequences.lazySet(index, position + 1);
+                    wakeWriter();
+                    return;
+                }
+            } else if (difference < 0) {
+                // Буфер заполнен: ждём, пока поток записи освободит ячейку
+                if (!writer.isAlive()) {
+                    checkFailure();
+                    throw new IllegalStateException("Sink is closed");
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, 10_000);
+            }
+            position = enqueuePosition.get();
+        }
+    }
+
+    /**
+     * Дожидается, пока все принятые результаты будут записаны в поток вывода.
+     * @throws UncheckedIOException если при записи произошла ошибка ввода-вывода
+     * @throws IllegalStateException если поток записи завершился, не записав все результаты
+     */
+    @Override
+    public void flush() {
+        long target = enqueuePosition.get();
+        while (flushedPosition < target && writer.isAlive()) {
+            checkFailure();
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 100_000);
+        }
+        checkWritten(target);
+    }
+
+    /**
+     * Записывает оставшиеся результаты и завершает поток записи.
+     * Вызывается после того, как интеграторы закончили работу.
+     * @throws UncheckedIOException если при записи произошла ошибка ввода-вывода
+     * @throws IllegalStateException если поток записи завершился, не записав все результаты
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        checkWritten(enqueuePosition.get());
+    }
+
+    private void checkFailure() {
+        Throwable e = failure;
+        if (e instanceof IOException) {
+            throw new UncheckedIOException((IOException) e);
+        }
+        if (e != null) {
+            throw new IllegalStateException("Result writer failed", e);
+        }
+    }
+
+    /**
+     * Проверяет, что результаты до заданной позиции записаны, если поток записи уже завершился.
+     */
+    private void checkWritten(long target) {
+        checkFailure();
+        if (flushedPosition < target && !writer.isAlive()) {
+            throw new IllegalStateException("Result writer stopped before writing all results");
+        }
+    }
+
+    private void wakeWriter() {
+        // Барьер упорядочивает публикацию результата относительно чтения флага парковки
+        VarHandle.fullFence();
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                if (drain() > 0) {
+                    continue;
+                }
+                if (closed) {
+                    // Дожидаемся результатов, позиции которых уже заняты
+                    while (dequeuePosition < enqueuePosition.get()) {
+                        if (drain() == 0) {
+                            Thread.yield();
+                        }
+                    }
+                    flushOutput();
+                    return;
+                }
+                flushOutput();
+                writerParked = true;
+                VarHandle.fullFence();
+                if (!isPublished(dequeuePosition) && !closed) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+            }
+        } catch (Throwable e) {
+            // Любая ошибка сохраняется, иначе flush и close не узнали бы о потерянных результатах
+            failure = e;
+        }
+    }
+
+    private boolean isPublished(long position) {
+        return sequences.get((int) position & mask) == position + 1;
+    }
+
+    /**
+     * Форматирует все опубликованные результаты и передаёт их в поток вывода.
+     */
+    private int drain() throws IOException {
+        int count = 0;
+        while (isPublished(dequeuePosition)) {
+            int index = (int) dequeuePosition & mask;
+            double leftBound = leftBounds[index];
+            double rightBound = rightBounds[index];
+            double step = steps[index];
+            double result = results[index];
+            sequences.lazySet(index, dequeuePosition + capacity);
+            dequeuePosition++;
+            count++;
+
+            if (BUFFER_SIZE - length < MAX_RECORD_LENGTH) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+            appendBytes(PREFIX);
+            appendFixed(leftBound, boundsDecimals);
+            buffer[length++] = ' ';
+            appendFixed(rightBound, boundsDecimals);
+            buffer[length++] = ' ';
+            appendFixed(step, stepDecimals);
+            buffer[length++] = ' ';
+            appendFixed(result, resultDecimals);
+            buffer[length++] = '\n';
+        }
+        if (length > 0) {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+        return count;
+    }
+
+    private void flushOutput() throws IOException {
+        out.flush();
+        flushedPosition = dequeuePosition;
+    }
+
+    private void appendBytes(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Записывает число с фиксированным количеством знаков после точки.
+     */
+    private void appendFixed(double value, int decimals) {
+        if (Double.isNaN(value)) {
+            appendBytes(NAN);
+            return;
+        }
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        if (Double.isInfinite(value)) {
+            appendBytes(INFINITY);
+            return;
+        }
+        if (value >= MAX_FIXED) {
+            // Редкий случай: точность double недостаточна для целой и дробной частей
+            String text = new BigDecimal(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+            for (int i = 0; i < text.length(); i++) {
+                buffer[length++] = (byte) text.charAt(i);
+            }
+            return;
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        long integerPart = (long) value;
+        long fraction = Math.round((value - integerPart) * scale);
+        if (fraction >= scale) {
+            integerPart++;
+            fraction -= scale;
+        }
+        appendDigits(integerPart, 1);
+        if (decimals > 0) {
+            buffer[length++] = '.';
+            appendDigits(fraction, decimals);
+        }
+    }
+
+    /**
+     * Записывает неотрицательное число, дополняя его слева нулями до заданной ширины.
+     */
+    private void appendDigits(long value, int width) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        digits = Math.max(digits, width);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private static void checkDecimals(int decimals) {
+        if (decimals < 0 || decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("Decimals count must be between 0 and 15");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package threads;
+
+/**
+ * Генератор заданий на интегрирование, передающий их через {@link GenerationBarrier}
+ * в режиме передачи с подтверждением. Каждое задание публикуется как новое поколение
+ * и получается всеми интеграторами барьера; следующее задание публикуется после того,
+ * как предыдущее подтвердят все интеграторы. После последнего задания барьер закрывается,
+ * что служит сигналом завершения для интеграторов.
+ * Реализует интерфейс Runnable.
+ */
+public class BarrierGenerator implements Runnable {
+    private final GenerationBarrier<Task.TaskData> barrier;
+    private final int tasksCount;
+    private final RandomTasks tasks;
+    private final SourceSink sourceSink;
+
+    /**
+     * Конструктор класса BarrierGenerator. Сведения о заданиях выводятся на консоль.
+     * @param barrier барьер, созданный конструктором {@link GenerationBarrier#GenerationBarrier(int)}
+     * @param tasksCount количество заданий
+     * @param tasks источник случайных заданий
+     */
+    public BarrierGenerator(GenerationBarrier<Task.TaskData> barrier, int tasksCount, RandomTasks tasks) {
+        this(barrier, tasksCount, tasks, new ConsoleSourceSink());
+    }
+
+    /**
+     * Конструктор класса BarrierGenerator с заданным получателем сведений о заданиях.
+     * @param barrier барьер, созданный конструктором {@link GenerationBarrier#GenerationBarrier(int)}
+     * @param tasksCount количество заданий
+     * @param tasks источник случайных заданий
+     * @param sourceSink получатель сведений о сгенерированных заданиях
+     */
+    public BarrierGenerator(GenerationBarrier<Task.TaskData> barrier, int tasksCount, RandomTasks tasks,
+                            SourceSink sourceSink) {
+        if (barrier == null || tasks == null || sourceSink == null) {
+            throw new IllegalArgumentException("Barrier, task source and source sink must not be null");
+        }
+        this.barrier = barrier;
+        this.tasksCount = tasksCount;
+        this.tasks = tasks;
+        this.sourceSink = sourceSink;
+    }
+
+    @Override
+    public void run() {
+        int generated = 0;
+        try {
+            for (; generated < tasksCount; generated++) {
+                Task.TaskData data = tasks.next();
+                TaskPublishedEvent event = TaskPublishedEvent.start();
+                barrier.publish(data);
+                event.finish("GenerationBarrier", data);
+                sourceSink.accept(data.leftBound, data.rightBound, data.step);
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[BarrierGenerator] Поток прерван на задании %d из %d%n", generated + 1, tasksCount);
+            Thread.currentThread().interrupt();
+        } finally {
+            barrier.close();
+        }
+        System.out.println("[BarrierGenerator] Выполнение заданий завершено. Сгенерировано заданий: " + generated);
+    }
+}
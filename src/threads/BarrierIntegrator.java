@@ -0,0 +1,73 @@
+package threads;
+
+/**
+ * Интегратор, получающий задания через {@link GenerationBarrier} в режиме передачи
+ * с подтверждением. Интегратор ждёт поколения новее последнего полученного, решает задание
+ * и подтверждает поколение, разрешая генератору опубликовать следующее. Каждое задание
+ * решают все интеграторы барьера. Поток завершается, когда барьер закрыт
+ * и все опубликованные задания получены.
+ * Реализует интерфейс Runnable.
+ */
+public class BarrierIntegrator implements Runnable {
+    private final GenerationBarrier<Task.TaskData> barrier;
+    private final ResultSink sink;
+    private volatile int completedTasks;
+
+    /**
+     * Конструктор класса BarrierIntegrator.
+     * @param barrier барьер, созданный конструктором {@link GenerationBarrier#GenerationBarrier(int)}
+     * @param sink получатель результатов
+     */
+    public BarrierIntegrator(GenerationBarrier<Task.TaskData> barrier, ResultSink sink) {
+        if (barrier == null || sink == null) {
+            throw new IllegalArgumentException("Barrier and sink must not be null");
+        }
+        this.barrier = barrier;
+        this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+        int completed = 0;
+        long lastSeen = 0;
+        try {
+            while (true) {
+                TaskClaimedEvent event = TaskClaimedEvent.start();
+                GenerationBarrier.Published<Task.TaskData> published = barrier.awaitAfter(lastSeen);
+                if (published == null) {
+                    break;
+                }
+                Task.TaskData taskData = published.getValue();
+                event.finish("GenerationBarrier", taskData);
+                try {
+                    double result = MeteredIntegration.integrate(
+                        taskData.function,
+                        taskData.leftBound,
+                        taskData.rightBound,
+                        taskData.step
+                    );
+                    sink.accept(taskData.leftBound, taskData.rightBound, taskData.step, result);
+                } catch (Exception e) {
+                    System.err.printf("Ошибка при интегрировании задания %d: %s%n", published.getGeneration(), e.getMessage());
+                } finally {
+                    lastSeen = published.getGeneration();
+                    barrier.acknowledge();
+                }
+                completedTasks = ++completed;
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[BarrierIntegrator] Поток прерван. Выполнено заданий: %d%n", completed);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        System.out.println("[BarrierIntegrator] Выполнение заданий завершено. Обработано заданий: " + completed);
+    }
+
+    /**
+     * Возвращает количество обработанных заданий.
+     * @return количество заданий
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+}
@@ -0,0 +1,86 @@
+package threads;
+
+/**
+ * Генератор заданий на интегрирование, передающий их пакетами через ограниченную очередь.
+ * Одна операция с очередью приходится на целый пакет заданий. После последнего
+ * пакета очередь закрывается, что служит сигналом завершения для интеграторов.
+ * Сведения о заданиях передаются получателю {@link SourceSink} один раз на пакет;
+ * по умолчанию они выводятся на консоль одним вызовом на пакет, а для работы на полной
+ * скорости следует передать {@link SourceSink#DISCARD}.
+ * Реализует интерфейс Runnable.
+ */
+public class BatchGenerator implements Runnable {
+    private final RingQueue<TaskBatch> queue;
+    private final int tasksCount;
+    private final int batchSize;
+    private final RandomTasks tasks;
+    private final SourceSink sourceSink;
+
+    /**
+     * Конструктор класса BatchGenerator.
+     * @param queue очередь пакетов
+     * @param tasksCount количество заданий
+     * @param batchSize максимальное количество заданий в пакете
+     */
+    public BatchGenerator(RingQueue<TaskBatch> queue, int tasksCount, int batchSize) {
+        this(queue, tasksCount, batchSize, new RandomTasks());
+    }
+
+    /**
+     * Конструктор класса BatchGenerator с заданным источником заданий.
+     * @param queue очередь пакетов
+     * @param tasksCount количество заданий
+     * @param batchSize максимальное количество заданий в пакете
+     * @param tasks источник случайных заданий
+     */
+    public BatchGenerator(RingQueue<TaskBatch> queue, int tasksCount, int batchSize, RandomTasks tasks) {
+        this(queue, tasksCount, batchSize, tasks, new ConsoleSourceSink());
+    }
+
+    /**
+     * Конструктор класса BatchGenerator с заданными источником заданий и получателем сведений о них.
+     * @param queue очередь пакетов
+     * @param tasksCount количество заданий
+     * @param batchSize максимальное количество заданий в пакете
+     * @param tasks источник случайных заданий
+     * @param sourceSink получатель сведений о сгенерированных заданиях
+     */
+    public BatchGenerator(RingQueue<TaskBatch> queue, int tasksCount, int batchSize, RandomTasks tasks,
+                          SourceSink sourceSink) {
+        if (queue == null || tasks == null || sourceSink == null) {
+            throw new IllegalArgumentException("Queue, task source and source sink must not be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.queue = queue;
+        this.tasksCount = tasksCount;
+        this.batchSize = batchSize;
+        this.tasks = tasks;
+        this.sourceSink = sourceSink;
+    }
+
+    @Override
+    public void run() {
+        int generated = 0;
+        try {
+            while (generated < tasksCount) {
+                TaskBatch batch = new TaskBatch(Math.min(batchSize, tasksCount - generated), generated);
+                while (!batch.isFull()) {
+                    tasks.next(batch);
+                }
+                TaskPublishedEvent event = TaskPublishedEvent.start();
+                queue.put(batch);
+                event.finish("BatchQueue", batch);
+                sourceSink.acceptBatch(batch);
+                generated += batch.size();
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[BatchGenerator] Поток прерван на задании %d из %d%n", generated + 1, tasksCount);
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.close();
+        }
+        System.out.println("[BatchGenerator] Выполнение заданий завершено. Сгенерировано заданий: " + generated);
+    }
+}
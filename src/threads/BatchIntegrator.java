@@ -0,0 +1,79 @@
+package threads;
+
+import functions.basic.Log;
+
+/**
+ * Интегратор, получающий задания пакетами из ограниченной очереди.
+ * Пакет забирается целиком одной операцией с очередью, после чего все его
+ * задания решаются без синхронизации. Поток завершается, когда очередь закрыта
+ * и все пакеты из неё извлечены.
+ * Реализует интерфейс Runnable.
+ */
+public class BatchIntegrator implements Runnable {
+    private final RingQueue<TaskBatch> queue;
+    private final ResultSink sink;
+    private volatile int completedTasks;
+
+    /**
+     * Конструктор класса BatchIntegrator. Результаты выводятся в стандартный поток вывода.
+     * @param queue очередь пакетов
+     */
+    public BatchIntegrator(RingQueue<TaskBatch> queue) {
+        this(queue, new ConsoleResultSink(ConsoleResultSink.DETAILED_FORMAT));
+    }
+
+    /**
+     * Конструктор класса BatchIntegrator с заданным получателем результатов.
+     * @param queue очередь пакетов
+     * @param sink получатель результатов
+     */
+    public BatchIntegrator(RingQueue<TaskBatch> queue, ResultSink sink) {
+        if (queue == null || sink == null) {
+            throw new IllegalArgumentException("Queue and sink must not be null");
+        }
+        this.queue = queue;
+        this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+        int completed = 0;
+        try {
+            while (true) {
+                TaskClaimedEvent event = TaskClaimedEvent.start();
+                TaskBatch batch = queue.take();
+                if (batch == null) {
+                    break;
+                }
+                event.finish("BatchQueue", batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    double leftBound = batch.getLeftBound(i);
+                    double rightBound = batch.getRightBound(i);
+                    double step = batch.getStep(i);
+                    try {
+                        double result = MeteredIntegration.integrate(new Log(batch.getBase(i)), leftBound, rightBound, step);
+                        sink.accept(leftBound, rightBound, step, result);
+                    } catch (Exception e) {
+                        System.err.printf("Ошибка при интегрировании задания %d: %s%n",
+                            batch.getFirstSequence() + i + 1, e.getMessage());
+                    }
+                    completed++;
+                }
+                completedTasks = completed;
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[BatchIntegrator] Поток прерван. Выполнено заданий: %d%n", completed);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        System.out.println("[BatchIntegrator] Выполнение заданий завершено. Обработано заданий: " + completed);
+    }
+
+    /**
+     * Возвращает количество обработанных заданий.
+     * @return количество заданий
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+}
@@ -0,0 +1,99 @@
+package threads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Получатель, записывающий результаты в двоичный файл через буфер.
+ * Каждый результат занимает 32 байта: левая граница, правая граница, шаг
+ * и значение интеграла в формате DataOutputStream.writeDouble.
+ * Потокобезопасен. Ошибки ввода-вывода передаются как UncheckedIOException.
+ */
+public class BinaryFileResultSink implements ResultSink {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private boolean closed;
+
+    /**
+     * Создаёт файл для записи результатов.
+     * @param fileName имя файла
+     * @throws IOException если файл не удаётся создать
+     */
+    public BinaryFileResultSink(String fileName) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), BUFFER_SIZE));
+    }
+
+    @Override
+    public synchronized void accept(double leftBound, double rightBound, double step, double result) {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+        try {
+            out.writeDouble(leftBound);
+            out.writeDouble(rightBound);
+            out.writeDouble(step);
+            out.writeDouble(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Читает результаты из файла, записанного этим получателем, и передаёт их другому получателю.
+     * @param fileName имя файла
+     * @param sink получатель прочитанных результатов
+     * @return количество прочитанных результатов
+     * @throws IOException если файл не удаётся прочитать или он повреждён
+     */
+    public static int read(String fileName, ResultSink sink) throws IOException {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE))) {
+            while (true) {
+                double leftBound;
+                try {
+                    leftBound = in.readDouble();
+                } catch (EOFException e) {
+                    return count;
+                }
+                sink.accept(leftBound, in.readDouble(), in.readDouble(), in.readDouble());
+                count++;
+            }
+        }
+    }
+}
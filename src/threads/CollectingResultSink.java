@@ -0,0 +1,100 @@
+package threads;
+
+import java.util.Arrays;
+
+/**
+ * Получатель, сохраняющий результаты в памяти по столбцам.
+ * Массивы увеличиваются в полтора раза при заполнении.
+ * Потокобезопасен.
+ */
+public class CollectingResultSink implements ResultSink {
+    private double[] leftBounds;
+    private double[] rightBounds;
+    private double[] steps;
+    private double[] results;
+    private int size;
+
+    /**
+     * Создаёт получатель с начальной ёмкостью 16 результатов.
+     */
+    public CollectingResultSink() {
+        this(16);
+    }
+
+    /**
+     * Создаёт получатель с заданной начальной ёмкостью.
+     * @param initialCapacity начальная ёмкость
+     */
+    public CollectingResultSink(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        leftBounds = new double[initialCapacity];
+        rightBounds = new double[initialCapacity];
+        steps = new double[initialCapacity];
+        results = new double[initialCapacity];
+    }
+
+    @Override
+    public synchronized void accept(double leftBound, double rightBound, double step, double result) {
+        if (size == results.length) {
+            int capacity = size + (size >> 1) + 1;
+            leftBounds = Arrays.copyOf(leftBounds, capacity);
+            rightBounds = Arrays.copyOf(rightBounds, capacity);
+            steps = Arrays.copyOf(steps, capacity);
+            results = Arrays.copyOf(results, capacity);
+        }
+        leftBounds[size] = leftBound;
+        rightBounds[size] = rightBound;
+        steps[size] = step;
+        results[size] = result;
+        size++;
+    }
+
+    /**
+     * Возвращает количество сохранённых результатов.
+     * @return количество результатов
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает копию левых границ в порядке поступления результатов.
+     * @return левые границы
+     */
+    public synchronized double[] getLeftBounds() {
+        return Arrays.copyOf(leftBounds, size);
+    }
+
+    /**
+     * Возвращает копию правых границ в порядке поступления результатов.
+     * @return правые границы
+     */
+    public synchronized double[] getRightBounds() {
+        return Arrays.copyOf(rightBounds, size);
+    }
+
+    /**
+     * Возвращает копию шагов в порядке поступления результатов.
+     * @return шаги дискретизации
+     */
+    public synchronized double[] getSteps() {
+        return Arrays.copyOf(steps, size);
+    }
+
+    /**
+     * Возвращает копию значений интегралов в порядке поступления результатов.
+     * @return значения интегралов
+     */
+    public synchronized double[] getResults() {
+        return Arrays.copyOf(results, size);
+    }
+
+    /**
+     * Удаляет все сохранённые результаты.
+     */
+    public synchronized void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,51 @@
+package threads;
+
+import java.io.PrintStream;
+
+/**
+ * Получатель, выводящий каждый результат в стандартный поток вывода по шаблону.
+ * Вывод выполняется в потоке интегратора, поэтому подходит для демонстрации,
+ * но не для обработки большого количества заданий.
+ */
+public class ConsoleResultSink implements ResultSink {
+    /**
+     * Шаблон вывода классов Integrator и QueueIntegrator.
+     */
+    public static final String DETAILED_FORMAT = "Result %.6f %.6f %.6f %.15f%n";
+    /**
+     * Шаблон вывода класса SimpleIntegrator.
+     */
+    public static final String SHORT_FORMAT = "Result %.2f %.2f %.5f %.10f%n";
+
+    private final String format;
+
+    /**
+     * Создаёт получатель с шаблоном {@link #DETAILED_FORMAT}.
+     */
+    public ConsoleResultSink() {
+        this(DETAILED_FORMAT);
+    }
+
+    /**
+     * Создаёт получатель с заданным шаблоном.
+     * @param format шаблон для левой и правой границ, шага и значения интеграла
+     */
+    public ConsoleResultSink(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format must not be null");
+        }
+        this.format = format;
+    }
+
+    @Override
+    public void accept(double leftBound, double rightBound, double step, double result) {
+        // Поток вывода читается при каждом вызове, так как он может быть переназначен
+        PrintStream out = System.out;
+        out.printf(format, leftBound, rightBound, step, result);
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+}
@@ -0,0 +1,58 @@
+package threads;
+
+import java.io.PrintStream;
+import java.util.Formatter;
+
+/**
+ * Получатель, выводящий каждое сгенерированное задание в стандартный поток вывода по шаблону.
+ * Вывод выполняется в потоке генератора и захватывает монитор потока вывода,
+ * поэтому подходит для демонстрации, но не для замеров. Строки пакета заданий
+ * собираются в один буфер и выводятся одним вызовом.
+ */
+public class ConsoleSourceSink implements SourceSink {
+    /**
+     * Шаблон вывода классов Generator, QueueGenerator и BatchGenerator.
+     */
+    public static final String DETAILED_FORMAT = "Source %.6f %.6f %.6f%n";
+    /**
+     * Шаблон вывода класса SimpleGenerator.
+     */
+    public static final String SHORT_FORMAT = "Source %.2f %.2f %.5f%n";
+
+    private final String format;
+
+    /**
+     * Создаёт получатель с шаблоном {@link #DETAILED_FORMAT}.
+     */
+    public ConsoleSourceSink() {
+        this(DETAILED_FORMAT);
+    }
+
+    /**
+     * Создаёт получатель с заданным шаблоном.
+     * @param format шаблон для левой и правой границ и шага
+     */
+    public ConsoleSourceSink(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format must not be null");
+        }
+        this.format = format;
+    }
+
+    @Override
+    public void accept(double leftBound, double rightBound, double step) {
+        // Поток вывода читается при каждом вызове, так как он может быть переназначен
+        PrintStream out = System.out;
+        out.printf(format, leftBound, rightBound, step);
+    }
+
+    @Override
+    public void acceptBatch(TaskBatch batch) {
+        StringBuilder lines = new StringBuilder(batch.size() * 40);
+        Formatter formatter = new Formatter(lines);
+        for (int i = 0; i < batch.size(); i++) {
+            formatter.format(format, batch.getLeftBound(i), batch.getRightBound(i), batch.getStep(i));
+        }
+        System.out.print(lines);
+    }
+}
@@ -0,0 +1,262 @@
+package threads;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Барьер публикации данных с номером поколения.
+ * Вместо флага готовности, который нужно сбрасывать (как в {@link Semaphore}),
+ * каждое опубликованное значение получает следующий номер поколения. Значение
+ * и номер хранятся вместе в неизменяемом объекте, который подменяется атомарно,
+ * поэтому публикация не использует блокировок, а читатель всегда видит согласованную пару.
+ * Читатель запоминает номер последнего полученного поколения и ждёт поколения
+ * с большим номером, поэтому никогда не получает одно значение дважды и не пропускает
+ * пробуждение. Каждое значение могут получить несколько читателей.
+ * <p>
+ * Барьер работает в одном из двух режимов:
+ * <ul>
+ *     <li>рассылка последнего значения (конструктор без аргументов): публикация не ждёт
+ *     читателей и подменяет ещё не полученное значение. Если писатель опережает читателя,
+ *     читатель получает последнее значение, а количество пропущенных поколений видно
+ *     по разности номеров. Для передачи заданий этот режим не годится;</li>
+ *     <li>передача с подтверждением ({@link #GenerationBarrier(int)}): заданное количество
+ *     читателей после обработки каждого поколения вызывает {@link #acknowledge()},
+ *     а {@link #publish(Object)} ждёт, пока предыдущее поколение подтвердят все читатели.
+ *     Так каждый читатель получает каждое значение ровно один раз, как при передаче
+ *     заданий через {@link Semaphore}. Читатель, переставший подтверждать поколения,
+ *     останавливает писателя до закрытия барьера.</li>
+ * </ul>
+ * @param <T> тип публикуемых значений
+ */
+public class GenerationBarrier<T> {
+    private final AtomicReference<Published<T>> current = new AtomicReference<>(new Published<>(0, null));
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Thread> writers = new ConcurrentLinkedQueue<>();
+    // Количество читателей, подтверждающих поколения; 0 — режим рассылки последнего значения
+    private final int readers;
+    // Количество читателей, ещё не подтвердивших последнее поколение
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Создаёт барьер в режиме рассылки последнего значения: публикация не ждёт читателей.
+     */
+    public GenerationBarrier() {
+        this.readers = 0;
+    }
+
+    /**
+     * Создаёт барьер в режиме передачи с подтверждением.
+     * @param readers количество читателей, каждый из которых получает и подтверждает каждое поколение
+     */
+    public GenerationBarrier(int readers) {
+        if (readers < 1) {
+            throw new IllegalArgumentException("Readers count must be positive");
+        }
+        this.readers = readers;
+    }
+
+    /**
+     * Публикует значение как новое поколение и будит ожидающих читателей.
+     * В режиме передачи с подтверждением сначала ждёт, пока все читатели подтвердят
+     * предыдущее поколение.
+     * @param value значение
+     * @return номер опубликованного поколения
+     * @throws IllegalStateException если барьер закрыт
+     * @throws InterruptedException если поток был прерван во время ожидания подтверждений
+     */
+    public long publish(T value) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Barrier is closed");
+        }
+        if (readers > 0) {
+            awaitAcknowledged();
+        }
+        Published<T> previous;
+        Published<T> next;
+        do {
+            previous = current.get();
+            next = new Published<>(previous.generation + 1, value);
+        } while (!current.compareAndSet(previous, next));
+        wakeAll();
+        return next.generation;
+    }
+
+    /**
+     * Подтверждает, что читатель обработал последнее полученное поколение.
+     * Используется только в режиме передачи с подтверждением; каждый читатель вызывает
+     * метод один раз на каждое поколение.
+     * @throws IllegalStateException если барьер создан без подтверждений или поколение
+     * уже подтверждено всеми читателями
+     */
+    public void acknowledge() {
+        if (readers == 0) {
+            throw new IllegalStateException("Barrier does not use acknowledgements");
+        }
+        int remaining;
+        do {
+            remaining = pending.get();
+            if (remaining == 0) {
+                throw new IllegalStateException("Generation is already acknowledged by all readers");
+            }
+        } while (!pending.compareAndSet(remaining, remaining - 1));
+        if (remaining == 1) {
+            wakeAll(writers);
+        }
+    }
+
+    /**
+     * Возвращает последнее опубликованное поколение (поколение 0 соответствует
+     * отсутствию данных).
+     * @return последнее поколение
+     */
+    public Published<T> current() {
+        return current.get();
+    }
+
+    /**
+     * Ожидает поколения с номером больше заданного.
+     * @param lastSeen номер последнего полученного читателем поколения
+     * @return более новое поколение или null, если барьер закрыт и новых поколений нет
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public Published<T> awaitAfter(long lastSeen) throws InterruptedException {
+        return await(lastSeen, false, 0);
+    }
+
+    /**
+     * Ожидает поколения с номером больше заданного не дольше заданного времени.
+     * @param lastSeen номер последнего полученного читателем поколения
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return более новое поколение или null, если время истекло или барьер закрыт
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public Published<T> awaitAfter(long lastSeen, long timeout, TimeUnit unit) throws InterruptedException {
+        return await(lastSeen, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Закрывает барьер: новые значения больше не публикуются, а ожидающие читатели
+     * получают null, если уже получили последнее поколение.
+     */
+    public void close() {
+        closed = true;
+        wakeAll();
+        wakeAll(writers);
+    }
+
+    /**
+     * Проверяет, закрыт ли барьер.
+     * @return true, если барьер закрыт
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Published<T> await(long lastSeen, boolean timed, long deadline) throws InterruptedException {
+        Published<T> published = current.get();
+        if (published.generation > lastSeen) {
+            return published;
+        }
+        Thread thread = Thread.currentThread();
+        waiters.add(thread);
+        try {
+            while (true) {
+                // Проверка после регистрации: публикация до неё не разбудила бы поток
+                published = current.get();
+                if (published.generation > lastSeen) {
+                    return published;
+                }
+                if (closed) {
+                    return null;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Поток прерван во время ожидания данных");
+                }
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            waiters.remove(thread);
+        }
+    }
+
+    /**
+     * Ждёт подтверждения предыдущего поколения всеми читателями и занимает место
+     * для следующего, выставляя счётчик неподтвердивших читателей.
+     */
+    private void awaitAcknowledged() throws InterruptedException {
+        if (pending.compareAndSet(0, readers)) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        writers.add(thread);
+        try {
+            while (!pending.compareAndSet(0, readers)) {
+                if (closed) {
+                    throw new IllegalStateException("Barrier is closed");
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Поток прерван во время ожидания подтверждения данных");
+                }
+                // Проверка после регистрации: подтверждение до неё не разбудило бы поток
+                if (pending.get() != 0) {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            writers.remove(thread);
+        }
+    }
+
+    private void wakeAll() {
+        wakeAll(waiters);
+    }
+
+    private static void wakeAll(ConcurrentLinkedQueue<Thread> threads) {
+        for (Thread thread : threads) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Опубликованное значение вместе с номером поколения.
+     * @param <T> тип значения
+     */
+    public static final class Published<T> {
+        private final long generation;
+        private final T value;
+
+        Published(long generation, T value) {
+            this.generation = generation;
+            this.value = value;
+        }
+
+        /**
+         * Возвращает номер поколения.
+         * @return номер поколения
+         */
+        public long getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Возвращает опубликованное значение.
+         * @return значение
+         */
+        public T getValue() {
+            return value;
+        }
+    }
+}
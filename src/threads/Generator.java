@@ -1,10 +1,5 @@
 package threads;
 
-import functions.Function;
-import functions.basic.Log;
-
-import java.util.Random;
-
 /**
  * Класс-генератор заданий для интегрирования.
  * Расширяет класс Thread для работы в отдельном потоке.
@@ -13,7 +8,8 @@ import java.util.Random;
 public class Generator extends Thread {
     private final Task task;
     private final ReadWriteSemaphore semaphore;
-    private final Random random;
+    private final RandomTasks tasks;
+    private final SourceSink sourceSink;
 
     /**
      * Конструктор класса Generator.
@@ -21,9 +17,35 @@ public class Generator extends Thread {
      * @param semaphore семафор для синхронизации доступа
      */
     public Generator(Task task, ReadWriteSemaphore semaphore) {
+        this(task, semaphore, new RandomTasks());
+    }
+
+    /**
+     * Конструктор класса Generator с заданным источником заданий.
+     * @param task объект задания, в который будут заноситься параметры
+     * @param semaphore семафор для синхронизации доступа
+     * @param tasks источник случайных заданий
+     */
+    public Generator(Task task, ReadWriteSemaphore semaphore, RandomTasks tasks) {
+        this(task, semaphore, tasks, new ConsoleSourceSink());
+    }
+
+    /**
+     * Конструктор класса Generator с заданными источником заданий и получателем сведений о них
+     * (например, {@link SourceSink#DISCARD} для работы без вывода).
+     * @param task объект задания, в который будут заноситься параметры
+     * @param semaphore семафор для синхронизации доступа
+     * @param tasks источник случайных заданий
+     * @param sourceSink получатель сведений о сгенерированных заданиях
+     */
+    public Generator(Task task, ReadWriteSemaphore semaphore, RandomTasks tasks, SourceSink sourceSink) {
+        if (tasks == null || sourceSink == null) {
+            throw new IllegalArgumentException("Task source and source sink must not be null");
+        }
         this.task = task;
         this.semaphore = semaphore;
-        this.random = new Random();
+        this.tasks = tasks;
+        this.sourceSink = sourceSink;
     }
 
     @Override
@@ -42,48 +64,29 @@ public class Generator extends Thread {
                 if (Thread.currentThread().isInterrupted()) {
                     throw new InterruptedException("Поток прерван перед записью");
                 }
-                // Создаем логарифмическую функцию со случайным основанием от 1 до 10
-                // Основание должно быть > 1 и не равно 1
-                double base = 1.0 + 1e-10 + random.nextDouble() * (10.0 - 1.0 - 1e-10);
-                Function logFunction = new Log(base);
-                
-                // Левая граница: случайно от 0 до 100
-                double leftBound = random.nextDouble() * 100.0;
-                
-                // Правая граница: случайно от 100 до 200
-                double rightBound = 100.0 + random.nextDouble() * 100.0;
-                
-                // Убеждаемся, что правая граница больше левой
-                if (rightBound <= leftBound) {
-                    rightBound = leftBound + 0.1;
-                }
-                
-                // Шаг дискретизации: случайно от 0 до 1
-                double step = random.nextDouble();
-                if (step == 0.0 || step < 1e-10) {
-                    step = 1e-10;
-                }
-                // Убеждаемся, что шаг не больше длины интервала
-                double intervalLength = rightBound - leftBound;
-                if (step > intervalLength) {
-                    step = intervalLength / 2.0;
-                }
-                
+                // Логарифм со случайным основанием от 1 до 10 на случайном отрезке
+                Task.TaskData data = tasks.next();
+                double leftBound = data.leftBound;
+                double rightBound = data.rightBound;
+                double step = data.step;
+
                 // Используем семафор для записи вместо synchronized блока
+                TaskPublishedEvent event = TaskPublishedEvent.start();
                 semaphore.startWrite();
                 try {
                     // Проверяем прерывание после получения доступа
                     if (Thread.currentThread().isInterrupted()) {
                         throw new InterruptedException("Поток прерван во время записи");
                     }
-                    task.setTask(logFunction, leftBound, rightBound, step);
+                    task.setTask(data.function, leftBound, rightBound, step);
                     task.setProcessed(false); // Сбрасываем флаг обработки
                 } finally {
                     semaphore.endWrite();
                 }
+                event.finish("Task", data);
 
                 // Выводим сообщение Source
-                System.out.printf("Source %.6f %.6f %.6f%n", leftBound, rightBound, step);
+                sourceSink.accept(leftBound, rightBound, step);
 
                 // Ждем, пока интегратор полностью обработает задание
                 while (!Thread.currentThread().isInterrupted()) {
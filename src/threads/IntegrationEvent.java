@@ -0,0 +1,61 @@
+package threads;
+
+import functions.Function;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: решение одного задания на интегрирование, от начала до конца вычисления.
+ * По умолчанию записываются решения дольше 10 мс.
+ */
+@Name("threads.Integration")
+@Label("Integration")
+@Category({"Integration Pipeline", "Integration"})
+@Description("Вычисление интеграла по заданию")
+@Threshold("10 ms")
+@StackTrace(false)
+final class IntegrationEvent extends Event {
+    @Label("Function Class")
+    Class<?> functionClass;
+
+    @Label("Left Bound")
+    double leftBound;
+
+    @Label("Right Bound")
+    double rightBound;
+
+    @Label("Step")
+    double step;
+
+    @Label("Evaluations")
+    @Description("Количество вычислений значения функции; 0, если вычисление завершилось ошибкой")
+    long evaluations;
+
+    @Label("Successful")
+    boolean successful;
+
+    static IntegrationEvent start() {
+        IntegrationEvent event = new IntegrationEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(Function function, double leftBound, double rightBound, double step, long evaluations,
+                boolean successful) {
+        end();
+        if (shouldCommit()) {
+            this.functionClass = function == null ? null : function.getClass();
+            this.leftBound = leftBound;
+            this.rightBound = rightBound;
+            this.step = step;
+            this.evaluations = evaluations;
+            this.successful = successful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package threads;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Стадия конвейера Flow, решающая задания на интегрирование.
+ * Задания запрашиваются у издателя пакетами: сначала batchSize заданий, затем
+ * по половине пакета каждый раз, когда обработана половина. Результаты публикуются
+ * подписчикам через буфер SubmissionPublisher; если буфер подписчика заполнен,
+ * публикация блокирует стадию, и новые задания не запрашиваются, пока подписчик
+ * не освободит место. Так ограничена память на всех стадиях.
+ * Задания решаются в потоке, передающем их от издателя.
+ */
+public class IntegrationProcessor extends SubmissionPublisher<TaskResult>
+        implements Flow.Processor<Task.TaskData, TaskResult> {
+    private final int batchSize;
+    private final int refillSize;
+
+    // Используются только в сигналах от издателя, которые передаются последовательно
+    private Flow.Subscription subscription;
+    private int consumed;
+    private long sequence;
+
+    /**
+     * Создаёт стадию с исполнителем и размером буфера по умолчанию.
+     * @param batchSize количество заданий, запрашиваемых у издателя за раз
+     */
+    public IntegrationProcessor(int batchSize) {
+        this(ForkJoinPool.commonPool(), Flow.defaultBufferSize(), batchSize);
+    }
+
+    /**
+     * Создаёт стадию с заданным исполнителем и размером буфера подписчиков.
+     * @param executor исполнитель для передачи результатов подписчикам
+     * @param maxBufferCapacity размер буфера каждого подписчика
+     * @param batchSize количество заданий, запрашиваемых у издателя за раз
+     */
+    public IntegrationProcessor(Executor executor, int maxBufferCapacity, int batchSize) {
+        super(executor, maxBufferCapacity);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+        this.refillSize = Math.max(1, batchSize / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Task.TaskData task) {
+        TaskResult result;
+        try {
+            double value = MeteredIntegration.integrate(task.function, task.leftBound, task.rightBound, task.step);
+            result = new TaskResult(sequence++, task, value, null);
+        } catch (Exception e) {
+            result = new TaskResult(sequence++, task, Double.NaN, e);
+        }
+        submit(result);
+        if (++consumed == refillSize) {
+            consumed = 0;
+            subscription.request(refillSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+}
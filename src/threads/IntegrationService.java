@@ -0,0 +1,391 @@
+package threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import metrics.MetricsRegistry;
+
+/**
+ * Сервис, решающий поток заданий на интегрирование пулом потоков-интеграторов.
+ * У каждого потока своя двусторонняя очередь: задания раздаются по кругу в хвосты
+ * очередей, владелец берёт задания из головы своей очереди, а освободившийся поток
+ * забирает задания с хвоста чужих очередей. Поэтому потоки, получившие быстрые задания
+ * (с крупным шагом), разгружают потоки, занятые медленными.
+ * Каждому заданию присваивается порядковый номер, который передаётся в результат.
+ * Результаты передаются обработчику в потоке, решившем задание.
+ * Простаивающий поток регистрируется в списке ожидания, повторно проверяет очереди
+ * и паркуется; при поступлении задания будится один простаивающий поток.
+ * Пока работают потоки-интеграторы, количество ожидающих заданий доступно в реестре
+ * метрик по умолчанию как очередь IntegrationService-N (N — номер сервиса в процессе).
+ */
+public class IntegrationService {
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final Worker[] workers;
+    private final Consumer<TaskResult> resultHandler;
+    private final ConcurrentLinkedQueue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong stolenTasks = new AtomicLong();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final String metricsName = "IntegrationService-" + INSTANCES.incrementAndGet();
+
+    // Изменяются только под монитором объекта
+    private long nextSequence;
+    private int nextWorker;
+    private volatile boolean shutdown;
+
+    /**
+     * Создаёт сервис, выводящий результаты в стандартный поток вывода.
+     * @param workersCount количество потоков-интеграторов
+     */
+    public IntegrationService(int workersCount) {
+        this(workersCount, new ConsoleResultSink(ConsoleResultSink.DETAILED_FORMAT));
+    }
+
+    /**
+     * Создаёт сервис, передающий значения интегралов получателю результатов.
+     * Ошибки вычисления выводятся в стандартный поток ошибок.
+     * @param workersCount количество потоков-интеграторов
+     * @param sink получатель результатов
+     */
+    public IntegrationService(int workersCount, ResultSink sink) {
+        this(workersCount, toHandler(sink));
+    }
+
+    /**
+     * Создаёт сервис с заданным обработчиком результатов.
+     * @param workersCount количество потоков-интеграторов
+     * @param resultHandler обработчик результатов, вызывается из потоков-интеграторов
+     */
+    public IntegrationService(int workersCount, Consumer<TaskResult> resultHandler) {
+        if (workersCount < 1) {
+            throw new IllegalArgumentException("Workers count must be positive");
+        }
+        if (resultHandler == null) {
+            throw new IllegalArgumentException("Result handler must not be null");
+        }
+        this.resultHandler = resultHandler;
+        this.workers = new Worker[workersCount];
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Worker(i);
+        }
+        liveWorkers.set(workersCount);
+        MetricsRegistry.getDefault().registerQueue(metricsName, () -> (int) getPendingTasks());
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Передаёт задание на решение.
+     * @param task задание
+     * @return порядковый номер задания
+     * @throws IllegalStateException если сервис остановлен
+     */
+    public long submit(Task.TaskData task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task must not be null");
+        }
+        TaskPublishedEvent event = TaskPublishedEvent.start();
+        long sequence;
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("Integration service is shut down");
+            }
+            sequence = nextSequence++;
+            workers[nextWorker].deque.addLast(new Job(sequence, task));
+            nextWorker = (nextWorker + 1) % workers.length;
+        }
+        Worker idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle);
+        }
+        event.finish("IntegrationService", task);
+        return sequence;
+    }
+
+    /**
+     * Запускает поток, который передаёт сервису задания из очереди, пока она не будет
+     * закрыта, после чего останавливает сервис. Так сервис завершается вместе с генератором.
+     * @param queue очередь заданий
+     * @return запущенный поток
+     */
+    public Thread feedFrom(RingQueue<Task.TaskData> queue) {
+        if (queue == null) {
+            throw new IllegalArgumentException("Queue must not be null");
+        }
+        String queueName = metricsName + ".input";
+        MetricsRegistry.getDefault().registerQueue(queueName, queue::size);
+        Thread feeder = new Thread(() -> {
+            try {
+                Task.TaskData task;
+                while ((task = queue.take()) != null) {
+                    submit(task);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                MetricsRegistry.getDefault().unregisterQueue(queueName);
+                shutdown();
+            }
+        }, "integration-feeder");
+        feeder.start();
+        return feeder;
+    }
+
+    /**
+     * Запрещает приём новых заданий. Уже принятые задания будут решены,
+     * после чего потоки-интеграторы завершатся.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Останавливает сервис, прерывая потоки-интеграторы.
+     * @return задания, которые не начали решаться
+     */
+    public List<Task.TaskData> shutdownNow() {
+        shutdown();
+        List<Task.TaskData> pending = new ArrayList<>();
+        for (Worker worker : workers) {
+            Job job;
+            while ((job = worker.deque.pollFirst()) != null) {
+                pending.add(job.task);
+            }
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        return pending;
+    }
+
+    /**
+     * Ожидает завершения всех потоков-интеграторов.
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return true, если все потоки завершились
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Worker worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return !isAlive();
+            }
+            TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+        }
+        return !isAlive();
+    }
+
+    /**
+     * Проверяет, остановлен ли сервис.
+     * @return true, если приём заданий запрещён
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Возвращает количество решённых заданий.
+     * @return количество заданий
+     */
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    /**
+     * Возвращает количество принятых, но ещё не решённых заданий.
+     * @return количество заданий
+     */
+    public long getPendingTasks() {
+        long submitted;
+        synchronized (this) {
+            submitted = nextSequence;
+        }
+        return submitted - completedTasks.get();
+    }
+
+    /**
+     * Возвращает количество заданий, забранных из чужих очередей.
+     * @return количество заданий
+     */
+    public long getStolenTasks() {
+        return stolenTasks.get();
+    }
+
+    /**
+     * Возвращает количество потоков-интеграторов.
+     * @return количество потоков
+     */
+    public int getWorkersCount() {
+        return workers.length;
+    }
+
+    private static Consumer<TaskResult> toHandler(ResultSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
+        return result -> {
+            if (result.isSuccessful()) {
+                sink.accept(result.task.leftBound, result.task.rightBound, result.task.step, result.value);
+            } else {
+                System.err.printf("Ошибка при интегрировании задания %d: %s%n",
+                    result.sequence, result.error.getMessage());
+            }
+        };
+    }
+
+    private boolean isAlive() {
+        for (Worker worker : workers) {
+            if (worker.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Задание вместе с его порядковым номером.
+     */
+    private static final class Job {
+        final long sequence;
+        final Task.TaskData task;
+
+        Job(long sequence, Task.TaskData task) {
+            this.sequence = sequence;
+            this.task = task;
+        }
+    }
+
+    /**
+     * Поток-интегратор со своей очередью заданий.
+     */
+    private final class Worker extends Thread {
+        final ConcurrentLinkedDeque<Job> deque = new ConcurrentLinkedDeque<>();
+        private final int index;
+
+        Worker(int index) {
+            super("integrator-worker-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                work();
+            } finally {
+                if (liveWorkers.decrementAndGet() == 0) {
+                    MetricsRegistry.getDefault().unregisterQueue(metricsName);
+                }
+            }
+        }
+
+        private void work() {
+            while (true) {
+                TaskClaimedEvent event = TaskClaimedEvent.start();
+                Job job = findJob();
+                if (job == null) {
+                    if (shutdown) {
+                        // Флаг устанавливается после добавления последнего задания,
+                        // поэтому повторная проверка очередей видит все задания
+                        job = findJob();
+                        if (job == null) {
+                            return;
+                        }
+                    } else {
+                        idleWorkers.add(this);
+                        job = findJob();
+                        if (job == null && !shutdown) {
+                            LockSupport.park(this);
+                        }
+                        idleWorkers.remove(this);
+                        if (Thread.interrupted() && shutdown) {
+                            return;
+                        }
+                        if (job == null) {
+                            continue;
+                        }
+                    }
+                }
+                event.finish("IntegrationService", job.task);
+                wakeIdleWorker();
+                process(job);
+                if (Thread.interrupted() && shutdown) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Берёт задание из головы своей очереди или с хвоста чужой.
+         */
+        private Job findJob() {
+            Job job = deque.pollFirst();
+            if (job != null) {
+                return job;
+            }
+            for (int i = 1; i < workers.length; i++) {
+                Worker victim = workers[(index + i) % workers.length];
+                job = victim.deque.pollLast();
+                if (job != null) {
+                    stolenTasks.incrementAndGet();
+                    return job;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Передаёт пробуждение простаивающему потоку, если в очередях остались задания:
+         * сигнал о новом задании мог достаться потоку, который нашёл работу сам.
+         */
+        private void wakeIdleWorker() {
+            if (idleWorkers.isEmpty()) {
+                return;
+            }
+            for (Worker worker : workers) {
+                if (!worker.deque.isEmpty()) {
+                    Worker idle = idleWorkers.poll();
+                    if (idle != null) {
+                        LockSupport.unpark(idle);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void process(Job job) {
+            TaskResult result;
+            try {
+                double value = MeteredIntegration.integrate(job.task.function, job.task.leftBound,
+                    job.task.rightBound, job.task.step);
+                result = new TaskResult(job.sequence, job.task, value, null);
+            } catch (Exception e) {
+                result = new TaskResult(job.sequence, job.task, Double.NaN, e);
+            }
+            completedTasks.incrementAndGet();
+            // Исключение обработчика не должно завершать рабочий поток и уменьшать пул
+            try {
+                resultHandler.accept(result);
+            } catch (Exception e) {
+                System.err.printf("Ошибка при обработке результата задания %d: %s%n",
+                    job.sequence, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package threads;
 
-import functions.Functions;
-
 /**
  * Класс-интегратор для решения заданий на интегрирование.
  * Расширяет класс Thread для работы в отдельном потоке.
@@ -10,15 +8,30 @@ import functions.Functions;
 public class Integrator extends Thread {
     private final Task task;
     private final ReadWriteSemaphore semaphore;
+    private final ResultSink sink;
 
     /**
-     * Конструктор класса Integrator.
+     * Конструктор класса Integrator. Результаты выводятся в стандартный поток вывода.
      * @param task объект задания, из которого будут браться данные для решения
      * @param semaphore семафор для синхронизации доступа
      */
     public Integrator(Task task, ReadWriteSemaphore semaphore) {
+        this(task, semaphore, new ConsoleResultSink(ConsoleResultSink.DETAILED_FORMAT));
+    }
+
+    /**
+     * Конструктор класса Integrator с заданным получателем результатов.
+     * @param task объект задания, из которого будут браться данные для решения
+     * @param semaphore семафор для синхронизации доступа
+     * @param sink получатель результатов
+     */
+    public Integrator(Task task, ReadWriteSemaphore semaphore, ResultSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
         this.task = task;
         this.semaphore = semaphore;
+        this.sink = sink;
     }
 
     @Override
@@ -50,6 +63,7 @@ public class Integrator extends Thread {
 
                 // Используем семафор для чтения вместо synchronized блока
                 Task.TaskData taskData = null;
+                TaskClaimedEvent event = TaskClaimedEvent.start();
                 semaphore.startRead();
                 try {
                     // Проверяем прерывание после получения доступа
@@ -63,18 +77,18 @@ public class Integrator extends Thread {
 
                 // Если задание готово, обрабатываем его
                 if (taskData != null) {
+                    event.finish("Task", taskData);
                     emptyIterations = 0; // Сбрасываем счетчик пустых итераций
                     // Вычисляем значение интеграла (вне синхронизированного блока)
-                    double result = Functions.integrate(
+                    double result = MeteredIntegration.integrate(
                         taskData.function,
                         taskData.leftBound,
                         taskData.rightBound,
                         taskData.step
                     );
 
-                    // Выводим сообщение Result
-                    System.out.printf("Result %.6f %.6f %.6f %.15f%n",
-                        taskData.leftBound, taskData.rightBound, taskData.step, result);
+                    // Передаём результат получателю
+                    sink.accept(taskData.leftBound, taskData.rightBound, taskData.step, result);
 
                     completedTasks++;
 
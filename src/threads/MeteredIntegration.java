@@ -0,0 +1,37 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+import functions.Quadrature;
+import metrics.MetricsRegistry;
+
+/**
+ * Интегрирование методом трапеций с записью метрик в реестр по умолчанию:
+ * время решения, успех или ошибка и количество вычислений функции по её классу.
+ * Каждое решение также отмечается событием JFR threads.Integration.
+ * Результат совпадает с {@link Functions#integrate(Function, double, double, double)}.
+ */
+final class MeteredIntegration {
+    private MeteredIntegration() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    static double integrate(Function function, double leftBound, double rightBound, double step) {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        IntegrationEvent event = IntegrationEvent.start();
+        long start = System.nanoTime();
+        long evaluations = 0;
+        boolean successful = false;
+        try {
+            Quadrature.Result result = Functions.integrate(function, leftBound, rightBound,
+                Quadrature.trapezoid(step));
+            evaluations = result.getEvaluations();
+            metrics.recordEvaluations(function.getClass(), evaluations);
+            successful = true;
+            return result.getValue();
+        } finally {
+            metrics.recordTaskCompleted(System.nanoTime() - start, successful);
+            event.finish(function, leftBound, rightBound, step, evaluations, successful);
+        }
+    }
+}
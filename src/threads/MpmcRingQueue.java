@@ -0,0 +1,86 @@
+package threads;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Кольцевая очередь для нескольких производителей и нескольких потребителей
+ * (алгоритм Вьюкова). У каждой ячейки есть порядковый номер: ячейка свободна для
+ * записи с позиции p, если её номер равен p, и содержит элемент для чтения с позиции p,
+ * если номер равен p + 1. Позиции записи и чтения захватываются сравнением с обменом,
+ * после чего элемент записывается или читается без блокировок, а номер ячейки
+ * публикуется упорядоченной записью.
+ * @param <E> тип элементов
+ */
+public class MpmcRingQueue<E> extends AbstractRingQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    /**
+     * Конструктор класса MpmcRingQueue.
+     * @param capacity ёмкость очереди, округляется вверх до степени двойки
+     */
+    public MpmcRingQueue(int capacity) {
+        super(capacity);
+        this.buffer = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    protected boolean enqueue(E element) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                // Ячейка ещё не освобождена потребителем: очередь заполнена
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E dequeue() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    E element = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, position + capacity);
+                    return element;
+                }
+                position = dequeuePosition.get();
+            } else if (difference < 0) {
+                // Элемент в ячейке ещё не опубликован: очередь пуста
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long h = dequeuePosition.get();
+        long t = enqueuePosition.get();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+}
@@ -0,0 +1,74 @@
+package threads;
+
+/**
+ * Генератор заданий на интегрирование, передающий их через ограниченную очередь.
+ * В отличие от класса Generator не ждёт обработки каждого задания: при заполненной
+ * очереди поток паркуется до освобождения места. После последнего задания очередь
+ * закрывается, что служит сигналом завершения для интеграторов.
+ * Сведения о заданиях передаются получателю {@link SourceSink}; по умолчанию они
+ * выводятся на консоль, а для работы на полной скорости следует передать
+ * {@link SourceSink#DISCARD}, чтобы генератор не ждал монитора потока вывода.
+ * Реализует интерфейс Runnable.
+ */
+public class QueueGenerator implements Runnable {
+    private final RingQueue<Task.TaskData> queue;
+    private final int tasksCount;
+    private final RandomTasks tasks;
+    private final SourceSink sourceSink;
+
+    /**
+     * Конструктор класса QueueGenerator.
+     * @param queue очередь заданий
+     * @param tasksCount количество заданий
+     */
+    public QueueGenerator(RingQueue<Task.TaskData> queue, int tasksCount) {
+        this(queue, tasksCount, new RandomTasks());
+    }
+
+    /**
+     * Конструктор класса QueueGenerator с заданным источником заданий.
+     * @param queue очередь заданий
+     * @param tasksCount количество заданий
+     * @param tasks источник случайных заданий
+     */
+    public QueueGenerator(RingQueue<Task.TaskData> queue, int tasksCount, RandomTasks tasks) {
+        this(queue, tasksCount, tasks, new ConsoleSourceSink());
+    }
+
+    /**
+     * Конструктор класса QueueGenerator с заданными источником заданий и получателем сведений о них.
+     * @param queue очередь заданий
+     * @param tasksCount количество заданий
+     * @param tasks источник случайных заданий
+     * @param sourceSink получатель сведений о сгенерированных заданиях
+     */
+    public QueueGenerator(RingQueue<Task.TaskData> queue, int tasksCount, RandomTasks tasks, SourceSink sourceSink) {
+        if (queue == null || tasks == null || sourceSink == null) {
+            throw new IllegalArgumentException("Queue, task source and source sink must not be null");
+        }
+        this.queue = queue;
+        this.tasksCount = tasksCount;
+        this.tasks = tasks;
+        this.sourceSink = sourceSink;
+    }
+
+    @Override
+    public void run() {
+        int generated = 0;
+        try {
+            for (; generated < tasksCount; generated++) {
+                Task.TaskData data = tasks.next();
+                TaskPublishedEvent event = TaskPublishedEvent.start();
+                queue.put(data);
+                event.finish("RingQueue", data);
+                sourceSink.accept(data.leftBound, data.rightBound, data.step);
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[QueueGenerator] Поток прерван на задании %d из %d%n", generated + 1, tasksCount);
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.close();
+        }
+        System.out.println("[QueueGenerator] Выполнение заданий завершено. Сгенерировано заданий: " + generated);
+    }
+}
@@ -0,0 +1,75 @@
+package threads;
+
+/**
+ * Интегратор, получающий задания из ограниченной очереди.
+ * При пустой очереди поток паркуется до появления задания и завершается,
+ * когда очередь закрыта и все задания из неё извлечены. Несколько интеграторов
+ * могут обрабатывать одну очередь, если она поддерживает нескольких потребителей.
+ * Реализует интерфейс Runnable.
+ */
+public class QueueIntegrator implements Runnable {
+    private final RingQueue<Task.TaskData> queue;
+    private final ResultSink sink;
+    private volatile int completedTasks;
+
+    /**
+     * Конструктор класса QueueIntegrator. Результаты выводятся в стандартный поток вывода.
+     * @param queue очередь заданий
+     */
+    public QueueIntegrator(RingQueue<Task.TaskData> queue) {
+        this(queue, new ConsoleResultSink(ConsoleResultSink.DETAILED_FORMAT));
+    }
+
+    /**
+     * Конструктор класса QueueIntegrator с заданным получателем результатов.
+     * @param queue очередь заданий
+     * @param sink получатель результатов
+     */
+    public QueueIntegrator(RingQueue<Task.TaskData> queue, ResultSink sink) {
+        if (queue == null || sink == null) {
+            throw new IllegalArgumentException("Queue and sink must not be null");
+        }
+        this.queue = queue;
+        this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+        int completed = 0;
+        try {
+            while (true) {
+                TaskClaimedEvent event = TaskClaimedEvent.start();
+                Task.TaskData taskData = queue.take();
+                if (taskData == null) {
+                    break;
+                }
+                event.finish("RingQueue", taskData);
+                try {
+                    double result = MeteredIntegration.integrate(
+                        taskData.function,
+                        taskData.leftBound,
+                        taskData.rightBound,
+                        taskData.step
+                    );
+                    sink.accept(taskData.leftBound, taskData.rightBound, taskData.step, result);
+                } catch (Exception e) {
+                    System.err.printf("Ошибка при интегрировании задания %d: %s%n", completed + 1, e.getMessage());
+                }
+                completedTasks = ++completed;
+            }
+        } catch (InterruptedException e) {
+            System.out.printf("[QueueIntegrator] Поток прерван. Выполнено заданий: %d%n", completed);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        System.out.println("[QueueIntegrator] Выполнение заданий завершено. Обработано заданий: " + completed);
+    }
+
+    /**
+     * Возвращает количество обработанных заданий.
+     * @return количество заданий
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+}
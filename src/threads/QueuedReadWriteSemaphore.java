@@ -0,0 +1,303 @@
+package threads;
+
+import metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+
+/**
+ * Семафор, различающий операции чтения и записи, построенный на AbstractQueuedSynchronizer.
+ * Может использоваться вместо {@link ReadWriteSemaphore}: как и он, допускает
+ * либо одного писателя, либо нескольких читателей.
+ * Ожидающие потоки стоят в очереди и будятся адресно: при освобождении семафора
+ * просыпается первый поток очереди, а читатели, получив доступ, будят следующих
+ * за ними читателей. Поддерживаются два режима:
+ * <ul>
+ *     <li>{@link Mode#WRITER_PREFERRING} — как в ReadWriteSemaphore: новый читатель ждёт,
+ *     пока есть ожидающие писатели, а писатель захватывает свободный семафор без очереди;</li>
+ *     <li>{@link Mode#FAIR} — потоки получают доступ в порядке поступления.</li>
+ * </ul>
+ * Как и в ReadWriteSemaphore, InterruptedException выбрасывается, если поток прерван
+ * до или во время ожидания. Если ожидание писателя прервано или истекло, очередь
+ * пробуждается повторно, чтобы читатели, ждавшие этого писателя, не остались спать.
+ * Как и в ReadWriteSemaphore, время ожидания на занятом семафоре записывается
+ * в реестр метрик по умолчанию и отмечается событием JFR; захват без ожидания не измеряется.
+ */
+public class QueuedReadWriteSemaphore extends ReadWriteSemaphore {
+    /**
+     * Порядок предоставления доступа.
+     */
+    public enum Mode {
+        WRITER_PREFERRING,
+        FAIR
+    }
+
+    private final Sync sync;
+
+    /**
+     * Создаёт семафор с предпочтением писателей.
+     */
+    public QueuedReadWriteSemaphore() {
+        this(Mode.WRITER_PREFERRING);
+    }
+
+    /**
+     * Создаёт семафор с заданным порядком предоставления доступа.
+     * @param mode режим семафора
+     */
+    public QueuedReadWriteSemaphore(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode must not be null");
+        }
+        this.sync = new Sync(mode == Mode.FAIR);
+    }
+
+    @Override
+    public void startWrite() throws InterruptedException {
+        sync.addWaitingWriter();
+        // Прерванный поток проходит в AQS, чтобы получить InterruptedException
+        if (!Thread.currentThread().isInterrupted() && sync.tryAcquire(1)) {
+            return;
+        }
+        SemaphoreWaitEvent event = SemaphoreWaitEvent.start();
+        long waitStart = System.nanoTime();
+        try {
+            sync.acquireInterruptibly(1);
+        } catch (InterruptedException e) {
+            sync.removeWaitingWriter();
+            throw new InterruptedException("Поток прерван во время ожидания записи");
+        }
+        recordWait(waitStart, event, true);
+    }
+
+    /**
+     * Захватывает семафор для операции записи, ожидая не дольше заданного времени.
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return true, если семафор захвачен
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public boolean tryStartWrite(long timeout, TimeUnit unit) throws InterruptedException {
+        sync.addWaitingWriter();
+        if (!Thread.currentThread().isInterrupted() && sync.tryAcquire(1)) {
+            return true;
+        }
+        SemaphoreWaitEvent event = SemaphoreWaitEvent.start();
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = sync.tryAcquireNanos(1, unit.toNanos(timeout));
+        } catch (InterruptedException e) {
+            sync.removeWaitingWriter();
+            throw new InterruptedException("Поток прерван во время ожидания записи");
+        }
+        if (acquired) {
+            recordWait(waitStart, event, true);
+        } else {
+            sync.removeWaitingWriter();
+            event.finish(this, true, false);
+        }
+        return acquired;
+    }
+
+    @Override
+    public void endWrite() {
+        sync.release(1);
+    }
+
+    @Override
+    public void startRead() throws InterruptedException {
+        if (!Thread.currentThread().isInterrupted() && sync.tryAcquireShared(1) >= 0) {
+            return;
+        }
+        SemaphoreWaitEvent event = SemaphoreWaitEvent.start();
+        long waitStart = System.nanoTime();
+        try {
+            sync.acquireSharedInterruptibly(1);
+        } catch (InterruptedException e) {
+            throw new InterruptedException("Поток прерван во время ожидания чтения");
+        }
+        recordWait(waitStart, event, false);
+    }
+
+    /**
+     * Захватывает семафор для операции чтения, ожидая не дольше заданного времени.
+     * @param timeout максимальное время ожидания
+     * @param unit единица измерения времени
+     * @return true, если семафор захвачен
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public boolean tryStartRead(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!Thread.currentThread().isInterrupted() && sync.tryAcquireShared(1) >= 0) {
+            return true;
+        }
+        SemaphoreWaitEvent event = SemaphoreWaitEvent.start();
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = sync.tryAcquireSharedNanos(1, unit.toNanos(timeout));
+        } catch (InterruptedException e) {
+            throw new InterruptedException("Поток прерван во время ожидания чтения");
+        }
+        if (acquired) {
+            recordWait(waitStart, event, false);
+        } else {
+            event.finish(this, false, false);
+        }
+        return acquired;
+    }
+
+    @Override
+    public void endRead() {
+        sync.releaseShared(1);
+    }
+
+    /**
+     * Возвращает режим семафора.
+     * @return режим
+     */
+    public Mode getMode() {
+        return sync.fair ? Mode.FAIR : Mode.WRITER_PREFERRING;
+    }
+
+    /**
+     * Возвращает количество активных читателей.
+     * @return количество читателей
+     */
+    public int getReadersCount() {
+        return sync.getReadersCount();
+    }
+
+    /**
+     * Проверяет, захвачен ли семафор писателем.
+     * @return true, если идёт операция записи
+     */
+    public boolean isWriteLocked() {
+        return sync.isWriteLocked();
+    }
+
+    /**
+     * Возвращает приблизительное количество потоков, ожидающих доступа.
+     * @return длина очереди
+     */
+    public int getQueueLength() {
+        return sync.getQueueLength();
+    }
+
+    private void recordWait(long waitStart, SemaphoreWaitEvent event, boolean write) {
+        MetricsRegistry.getDefault().recordSemaphoreWait(System.nanoTime() - waitStart);
+        event.finish(this, write, true);
+    }
+
+    /**
+     * Синхронизатор. Состояние: младшие 16 бит — количество читателей,
+     * бит 16 — признак писателя, старшие биты — количество ожидающих писателей.
+     */
+    private static final class Sync extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = 1L;
+
+        static final int READERS_MASK = (1 << 16) - 1;
+        static final int WRITER = 1 << 16;
+        static final int WAITING_WRITER = 1 << 17;
+
+        final boolean fair;
+
+        Sync(boolean fair) {
+            this.fair = fair;
+        }
+
+        int getReadersCount() {
+            return getState() & READERS_MASK;
+        }
+
+        boolean isWriteLocked() {
+            return (getState() & WRITER) != 0;
+        }
+
+        void addWaitingWriter() {
+            int c;
+            do {
+                c = getState();
+                if ((c >>> 17) == (Integer.MAX_VALUE >>> 16)) {
+                    throw new IllegalStateException("Maximum waiting writers count exceeded");
+                }
+            } while (!compareAndSetState(c, c + WAITING_WRITER));
+        }
+
+        /**
+         * Снимает отметку ожидающего писателя после прерывания или истечения времени
+         * и будит первый поток очереди: это может быть читатель, пропускавший писателя.
+         */
+        void removeWaitingWriter() {
+            int c;
+            do {
+                c = getState();
+            } while (!compareAndSetState(c, c - WAITING_WRITER));
+            releaseShared(0);
+        }
+
+        @Override
+        protected boolean tryAcquire(int arg) {
+            int c = getState();
+            if ((c & (READERS_MASK | WRITER)) != 0) {
+                return false;
+            }
+            if (fair && hasQueuedPredecessors()) {
+                return false;
+            }
+            // Писатель перестаёт быть ожидающим в момент захвата
+            return compareAndSetState(c, (c - WAITING_WRITER) | WRITER);
+        }
+
+        @Override
+        protected boolean tryRelease(int arg) {
+            int c;
+            do {
+                c = getState();
+                if ((c & WRITER) == 0) {
+                    throw new IllegalMonitorStateException("Semaphore is not write-locked");
+                }
+            } while (!compareAndSetState(c, c & ~WRITER));
+            return true;
+        }
+
+        @Override
+        protected int tryAcquireShared(int arg) {
+            while (true) {
+                int c = getState();
+                if ((c & WRITER) != 0) {
+                    return -1;
+                }
+                // В режиме предпочтения писателей читатель уступает ожидающим писателям,
+                // если только он сам не первый в очереди (иначе писатель за ним не дождался бы)
+                boolean blocked = fair ? hasQueuedPredecessors()
+                        : (c >>> 17) != 0 && hasQueuedPredecessors();
+                if (blocked) {
+                    return -1;
+                }
+                if ((c & READERS_MASK) == READERS_MASK) {
+                    throw new IllegalStateException("Maximum readers count exceeded");
+                }
+                if (compareAndSetState(c, c + 1)) {
+                    return 1;
+                }
+            }
+        }
+
+        @Override
+        protected boolean tryReleaseShared(int arg) {
+            if (arg == 0) {
+                // Повторное пробуждение очереди после отмены ожидания писателя
+                return (getState() & WRITER) == 0;
+            }
+            int c;
+            do {
+                c = getState();
+                if ((c & READERS_MASK) == 0) {
+                    throw new IllegalMonitorStateException("Semaphore is not read-locked");
+                }
+            } while (!compareAndSetState(c, c - 1));
+            return ((c - 1) & READERS_MASK) == 0;
+        }
+    }
+}
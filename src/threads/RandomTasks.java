@@ -0,0 +1,75 @@
+package threads;
+
+import functions.basic.Log;
+import metrics.MetricsRegistry;
+
+import java.util.Random;
+
+/**
+ * Источник случайных заданий на интегрирование логарифма.
+ * Параметры выбираются по тем же правилам, что и в классе Generator:
+ * основание от 1 до 10, левая граница от 0 до 100, правая — от 100 до 200,
+ * шаг от 0 до 1, но не больше половины длины отрезка.
+ * При заданном начальном значении генератора последовательность заданий воспроизводима.
+ * Каждое созданное задание учитывается в реестре метрик по умолчанию.
+ * Объект не предназначен для использования из нескольких потоков.
+ */
+public class RandomTasks {
+    private final Random random;
+
+    /**
+     * Создаёт источник заданий со случайным начальным значением.
+     */
+    public RandomTasks() {
+        this.random = new Random();
+    }
+
+    /**
+     * Создаёт источник воспроизводимой последовательности заданий.
+     * @param seed начальное значение генератора случайных чисел
+     */
+    public RandomTasks(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Создаёт следующее задание.
+     * @return параметры задания
+     */
+    public Task.TaskData next() {
+        double[] parameters = nextParameters();
+        return new Task.TaskData(new Log(parameters[0]), parameters[1], parameters[2], parameters[3]);
+    }
+
+    /**
+     * Добавляет следующее задание в пакет, не создавая объект функции.
+     * @param batch пакет заданий
+     */
+    public void next(TaskBatch batch) {
+        double[] parameters = nextParameters();
+        batch.add(parameters[0], parameters[1], parameters[2], parameters[3]);
+    }
+
+    /**
+     * Выбирает основание, левую и правую границы и шаг очередного задания.
+     */
+    private double[] nextParameters() {
+        // Основание должно быть > 1 и не равно 1
+        double base = 1.0 + 1e-10 + random.nextDouble() * (10.0 - 1.0 - 1e-10);
+        double leftBound = random.nextDouble() * 100.0;
+        double rightBound = 100.0 + random.nextDouble() * 100.0;
+        if (rightBound <= leftBound) {
+            rightBound = leftBound + 0.1;
+        }
+        double step = random.nextDouble();
+        if (step < 1e-10) {
+            step = 1e-10;
+        }
+        double intervalLength = rightBound - leftBound;
+        if (step > intervalLength) {
+            step = intervalLength / 2.0;
+        }
+        MetricsRegistry.getDefault().recordTaskGenerated();
+        return new double[] {base, leftBound, rightBound, step};
+    }
+}
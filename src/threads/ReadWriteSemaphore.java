@@ -1,9 +1,13 @@
 package threads;
 
+import metrics.MetricsRegistry;
+
 /**
  * Одноместный семафор, различающий операции чтения и записи.
  * Гарантирует, что в каждый момент времени только один поток может
  * выполнять операцию чтения или записи.
+ * Время ожидания на занятом семафоре записывается в реестр метрик по умолчанию
+ * и отмечается событием JFR threads.SemaphoreWait; захват свободного семафора не измеряется.
  */
 public class ReadWriteSemaphore {
     private int readers = 0;      // Количество активных читателей
@@ -17,9 +21,15 @@ public class ReadWriteSemaphore {
      */
     public synchronized void startWrite() throws InterruptedException {
         waitingWriters++;
+        long waitStart = 0;
+        SemaphoreWaitEvent event = null;
         try {
             // Ждем, пока не освободятся все читатели и писатели
             while (readers > 0 || writers > 0) {
+                if (event == null) {
+                    event = SemaphoreWaitEvent.start();
+                    waitStart = System.nanoTime();
+                }
                 // Проверяем прерывание перед ожиданием
                 if (Thread.currentThread().isInterrupted()) {
                     notifyAll(); // Разбудим другие потоки
@@ -38,6 +48,7 @@ public class ReadWriteSemaphore {
                 throw new InterruptedException("Поток прерван после ожидания записи");
             }
             writers = 1;
+            recordWait(waitStart, event, true);
         } finally {
             waitingWriters--;
         }
@@ -58,7 +69,13 @@ public class ReadWriteSemaphore {
      */
     public synchronized void startRead() throws InterruptedException {
         // Ждем, пока не освободятся все писатели и не закончатся ожидающие писатели
+        long waitStart = 0;
+        SemaphoreWaitEvent event = null;
         while (writers > 0 || waitingWriters > 0) {
+            if (event == null) {
+                event = SemaphoreWaitEvent.start();
+                waitStart = System.nanoTime();
+            }
             // Проверяем прерывание перед ожиданием
             if (Thread.currentThread().isInterrupted()) {
                 notifyAll(); // Разбудим другие потоки
@@ -77,6 +94,7 @@ public class ReadWriteSemaphore {
             throw new InterruptedException("Поток прерван после ожидания чтения");
         }
         readers++;
+        recordWait(waitStart, event, false);
     }
 
     /**
@@ -88,5 +106,11 @@ public class ReadWriteSemaphore {
             notifyAll(); // Уведомляем всех ожидающих потоков
         }
     }
-}
 
+    private void recordWait(long waitStart, SemaphoreWaitEvent event, boolean write) {
+        if (event != null) {
+            MetricsRegistry.getDefault().recordSemaphoreWait(System.nanoTime() - waitStart);
+            event.finish(this, write, true);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package threads;
+
+/**
+ * Получатель результатов решения заданий на интегрирование.
+ * Результат передаётся примитивными значениями, поэтому вызов не создаёт объектов.
+ * Реализации, используемые несколькими интеграторами, должны быть потокобезопасными.
+ */
+public interface ResultSink {
+    /**
+     * Получатель, отбрасывающий результаты.
+     */
+    ResultSink DISCARD = (leftBound, rightBound, step, result) -> { };
+
+    /**
+     * Принимает результат решения задания.
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param step шаг дискретизации
+     * @param result значение интеграла
+     */
+    void accept(double leftBound, double rightBound, double step, double result);
+
+    /**
+     * Дожидается записи всех принятых результатов.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Записывает принятые результаты и освобождает ресурсы получателя.
+     */
+    default void close() {
+        flush();
+    }
+}
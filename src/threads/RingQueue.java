@@ -0,0 +1,64 @@
+package threads;
+
+/**
+ * Ограниченная очередь на кольцевом буфере для передачи заданий между потоками.
+ * Неблокирующие методы {@link #offer(Object)} и {@link #poll()} не используют блокировок,
+ * блокирующие методы {@link #put(Object)} и {@link #take()} при переполнении или пустой
+ * очереди паркуют поток до появления места или элемента.
+ * Элементы null не допускаются.
+ * @param <E> тип элементов
+ */
+public interface RingQueue<E> {
+    /**
+     * Добавляет элемент, если в очереди есть место.
+     * @param element элемент
+     * @return true, если элемент добавлен; false, если очередь заполнена или закрыта
+     */
+    boolean offer(E element);
+
+    /**
+     * Извлекает элемент, если очередь не пуста.
+     * @return элемент или null, если очередь пуста
+     */
+    E poll();
+
+    /**
+     * Добавляет элемент, ожидая появления места в очереди.
+     * @param element элемент
+     * @throws InterruptedException если поток был прерван во время ожидания
+     * @throws IllegalStateException если очередь закрыта
+     */
+    void put(E element) throws InterruptedException;
+
+    /**
+     * Извлекает элемент, ожидая его появления в очереди.
+     * @return элемент или null, если очередь закрыта и все элементы извлечены
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    E take() throws InterruptedException;
+
+    /**
+     * Закрывает очередь: новые элементы больше не принимаются, а потребители после
+     * извлечения оставшихся элементов получают null. Вызывается производителями
+     * после добавления последнего элемента.
+     */
+    void close();
+
+    /**
+     * Проверяет, закрыта ли очередь.
+     * @return true, если очередь закрыта
+     */
+    boolean isClosed();
+
+    /**
+     * Возвращает приблизительное количество элементов в очереди.
+     * @return количество элементов
+     */
+    int size();
+
+    /**
+     * Возвращает ёмкость очереди.
+     * @return максимальное количество элементов
+     */
+    int capacity();
+}
@@ -0,0 +1,47 @@
+package threads;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: ожидание на занятом семафоре {@link ReadWriteSemaphore}.
+ * Захват свободного семафора событий не создаёт. По умолчанию записываются
+ * ожидания дольше 1 мс вместе со стеком вызовов ожидающего потока.
+ */
+@Name("threads.SemaphoreWait")
+@Label("Semaphore Wait")
+@Category({"Integration Pipeline", "Locks"})
+@Description("Ожидание доступа к семафору чтения-записи")
+@Threshold("1 ms")
+final class SemaphoreWaitEvent extends Event {
+    @Label("Semaphore Class")
+    Class<?> semaphoreClass;
+
+    @Label("Write")
+    @Description("true для ожидания записи, false для ожидания чтения")
+    boolean write;
+
+    @Label("Acquired")
+    @Description("false, если время ожидания истекло")
+    boolean acquired;
+
+    static SemaphoreWaitEvent start() {
+        SemaphoreWaitEvent event = new SemaphoreWaitEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(ReadWriteSemaphore semaphore, boolean write, boolean acquired) {
+        end();
+        if (shouldCommit()) {
+            this.semaphoreClass = semaphore.getClass();
+            this.write = write;
+            this.acquired = acquired;
+            commit();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package threads;
 
 import functions.Function;
 import functions.basic.Log;
+import metrics.MetricsRegistry;
 
 /**
  * Класс для генерации заданий на интегрирование.
@@ -9,6 +10,9 @@ import functions.basic.Log;
  */
 public class SimpleGenerator implements Runnable {
     private final Task task;
+    // Источник заданий; null, если задания выбираются по собственным правилам класса
+    private final RandomTasks tasks;
+    private final SourceSink sourceSink;
 
     /**
      * Конструктор класса SimpleGenerator.
@@ -16,6 +20,34 @@ public class SimpleGenerator implements Runnable {
      */
     public SimpleGenerator(Task task) {
         this.task = task;
+        this.tasks = null;
+        this.sourceSink = new ConsoleSourceSink(ConsoleSourceSink.SHORT_FORMAT);
+    }
+
+    /**
+     * Конструктор класса SimpleGenerator с заданным источником заданий
+     * (например, воспроизводимым, см. {@link RandomTasks#RandomTasks(long)}).
+     * @param task объект задания
+     * @param tasks источник случайных заданий
+     */
+    public SimpleGenerator(Task task, RandomTasks tasks) {
+        this(task, tasks, new ConsoleSourceSink(ConsoleSourceSink.SHORT_FORMAT));
+    }
+
+    /**
+     * Конструктор класса SimpleGenerator с заданными источником заданий и получателем сведений о них
+     * (например, {@link SourceSink#DISCARD} для работы без вывода).
+     * @param task объект задания
+     * @param tasks источник случайных заданий
+     * @param sourceSink получатель сведений о сгенерированных заданиях
+     */
+    public SimpleGenerator(Task task, RandomTasks tasks, SourceSink sourceSink) {
+        if (tasks == null || sourceSink == null) {
+            throw new IllegalArgumentException("Task source and source sink must not be null");
+        }
+        this.task = task;
+        this.tasks = tasks;
+        this.sourceSink = sourceSink;
     }
 
     @Override
@@ -32,26 +64,39 @@ public class SimpleGenerator implements Runnable {
                     }
                 }
 
-                // Создание логарифмической функции с случайным основанием от 1 до 10
-                // Основание не должно быть равно 1, поэтому используем диапазон (1, 10]
-                double base = 1.0 + Math.random() * 9.0; // от 1+eps до 10
-                Function logFunction = new Log(base);
+                Function logFunction;
+                double leftBound;
+                double rightBound;
+                double step;
+                if (tasks != null) {
+                    Task.TaskData data = tasks.next();
+                    logFunction = data.function;
+                    leftBound = data.leftBound;
+                    rightBound = data.rightBound;
+                    step = data.step;
+                } else {
+                    // Создание логарифмической функции с случайным основанием от 1 до 10
+                    // Основание не должно быть равно 1, поэтому используем диапазон (1, 10]
+                    double base = 1.0 + Math.random() * 9.0; // от 1+eps до 10
+                    logFunction = new Log(base);
 
-                // Левая граница: случайно от 0.01 до 100 (чтобы избежать x=0)
-                double leftBound = 0.01 + Math.random() * 99.99;
+                    // Левая граница: случайно от 0.01 до 100 (чтобы избежать x=0)
+                    leftBound = 0.01 + Math.random() * 99.99;
 
-                // Правая граница: случайно от 100 до 200
-                double rightBound = 100.0 + Math.random() * 100.0;
+                    // Правая граница: случайно от 100 до 200
+                    rightBound = 100.0 + Math.random() * 100.0;
 
-                // Шаг дискретизации: случайно от 0 до 1
-                double step = Math.random(); // от 0.0 до 1.0
+                    // Шаг дискретизации: случайно от 0 до 1
+                    step = Math.random(); // от 0.0 до 1.0
+                    MetricsRegistry.getDefault().recordTaskGenerated();
+                }
 
                 // Атомарно устанавливаем задание
                 task.setTask(logFunction, leftBound, rightBound, step);
                 task.setProcessed(false); // Сбрасываем флаг обработки
 
                 // Вывод сообщения Source
-                System.out.printf("Source %.2f %.2f %.5f%n", leftBound, rightBound, step);
+                sourceSink.accept(leftBound, rightBound, step);
 
                 // Уведомляем ожидающие потоки
                 task.notifyAll();
@@ -1,20 +1,32 @@
 package threads;
 
-import functions.Functions;
-
 /**
  * Класс для решения заданий на интегрирование.
  * Реализует интерфейс Runnable.
  */
 public class SimpleIntegrator implements Runnable {
     private final Task task;
+    private final ResultSink sink;
 
     /**
-     * Конструктор класса SimpleIntegrator.
+     * Конструктор класса SimpleIntegrator. Результаты выводятся в стандартный поток вывода.
      * @param task объект задания
      */
     public SimpleIntegrator(Task task) {
+        this(task, new ConsoleResultSink(ConsoleResultSink.SHORT_FORMAT));
+    }
+
+    /**
+     * Конструктор класса SimpleIntegrator с заданным получателем результатов.
+     * @param task объект задания
+     * @param sink получатель результатов
+     */
+    public SimpleIntegrator(Task task, ResultSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
         this.task = task;
+        this.sink = sink;
     }
 
     @Override
@@ -33,12 +45,11 @@ public class SimpleIntegrator implements Runnable {
 
                 try {
                     // Вычисление интеграла
-                    double result = Functions.integrate(task.getFunction(), task.getLeftBound(),
+                    double result = MeteredIntegration.integrate(task.getFunction(), task.getLeftBound(),
                             task.getRightBound(), task.getStep());
 
-                    // Вывод сообщения Result
-                    System.out.printf("Result %.2f %.2f %.5f %.10f%n",
-                            task.getLeftBound(), task.getRightBound(), task.getStep(), result);
+                    // Передача результата получателю
+                    sink.accept(task.getLeftBound(), task.getRightBound(), task.getStep(), result);
 
                     // Помечаем задание как обработанное и сбрасываем готовность
                     task.setProcessed(true);
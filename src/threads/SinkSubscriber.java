@@ -0,0 +1,91 @@
+package threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * Подписчик Flow, передающий значения интегралов получателю результатов.
+ * Результаты запрашиваются пакетами, как в {@link IntegrationProcessor}.
+ * Ошибки вычисления выводятся в стандартный поток ошибок.
+ */
+public class SinkSubscriber implements Flow.Subscriber<TaskResult> {
+    private final ResultSink sink;
+    private final int batchSize;
+    private final int refillSize;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    // Используются только в последовательно передаваемых сигналах
+    private Flow.Subscription subscription;
+    private int consumed;
+    private volatile long received;
+    private volatile Throwable failure;
+
+    /**
+     * Конструктор класса SinkSubscriber.
+     * @param sink получатель результатов
+     * @param batchSize количество результатов, запрашиваемых за раз
+     */
+    public SinkSubscriber(ResultSink sink, int batchSize) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.refillSize = Math.max(1, batchSize / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(TaskResult result) {
+        if (result.isSuccessful()) {
+            sink.accept(result.task.leftBound, result.task.rightBound, result.task.step, result.value);
+        } else {
+            System.err.printf("Ошибка при интегрировании задания %d: %s%n", result.sequence, result.error.getMessage());
+        }
+        received++;
+        if (++consumed == refillSize) {
+            consumed = 0;
+            subscription.request(refillSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        sink.flush();
+        done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        sink.flush();
+        done.countDown();
+    }
+
+    /**
+     * Ожидает завершения потока результатов.
+     * @return количество полученных результатов
+     * @throws InterruptedException если поток был прерван во время ожидания
+     * @throws IllegalStateException если поток результатов завершился ошибкой
+     */
+    public long await() throws InterruptedException {
+        done.await();
+        Throwable t = failure;
+        if (t != null) {
+            throw new IllegalStateException("Result stream failed", t);
+        }
+        return received;
+    }
+}
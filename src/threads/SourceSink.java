@@ -0,0 +1,32 @@
+package threads;
+
+/**
+ * Получатель сведений о сгенерированных заданиях (строк Source).
+ * Генератор передаёт задание сразу после публикации; реализация решает, выводить ли его
+ * и как. Реализации, используемые несколькими генераторами, должны быть потокобезопасными.
+ */
+public interface SourceSink {
+    /**
+     * Получатель, отбрасывающий сведения о заданиях.
+     */
+    SourceSink DISCARD = (leftBound, rightBound, step) -> { };
+
+    /**
+     * Принимает сведения о сгенерированном задании.
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param step шаг дискретизации
+     */
+    void accept(double leftBound, double rightBound, double step);
+
+    /**
+     * Принимает сведения обо всех заданиях пакета.
+     * Реализация по умолчанию передаёт задания по одному в {@link #accept(double, double, double)}.
+     * @param batch пакет заданий
+     */
+    default void acceptBatch(TaskBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            accept(batch.getLeftBound(i), batch.getRightBound(i), batch.getStep(i));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package threads;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кольцевая очередь для одного производителя и одного потребителя (очередь Лэмпорта).
+ * Производитель изменяет только индекс хвоста, потребитель — только индекс головы,
+ * поэтому операции обходятся без сравнения с обменом: элемент публикуется упорядоченной
+ * записью индекса. Каждая сторона хранит последнее прочитанное значение чужого индекса
+ * и перечитывает его, только когда очередь кажется заполненной или пустой.
+ * Добавлять элементы может только один поток, извлекать — тоже только один.
+ * @param <E> тип элементов
+ */
+public class SpscRingQueue<E> extends AbstractRingQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Кэш индекса головы, используется только производителем
+    private long cachedHead;
+    // Кэш индекса хвоста, используется только потребителем
+    private long cachedTail;
+
+    /**
+     * Конструктор класса SpscRingQueue.
+     * @param capacity ёмкость очереди, округляется вверх до степени двойки
+     */
+    public SpscRingQueue(int capacity) {
+        super(capacity);
+        this.buffer = new Object[this.capacity];
+    }
+
+    @Override
+    protected boolean enqueue(E element) {
+        long t = tail.get();
+        if (t - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (t - cachedHead >= capacity) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = element;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E dequeue() {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        head.lazySet(h + 1);
+        return element;
+    }
+
+    @Override
+    public int size() {
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+}
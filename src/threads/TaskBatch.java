@@ -0,0 +1,133 @@
+package threads;
+
+import functions.basic.Log;
+
+/**
+ * Пакет заданий на интегрирование логарифма, хранящийся по столбцам:
+ * основания, левые границы, правые границы и шаги лежат в отдельных массивах.
+ * Пакет передаётся между потоками целиком, поэтому затраты на синхронизацию
+ * делятся на количество заданий в нём. После передачи пакет не изменяется.
+ */
+public class TaskBatch {
+    private final double[] bases;
+    private final double[] leftBounds;
+    private final double[] rightBounds;
+    private final double[] steps;
+    private final long firstSequence;
+    private int size;
+
+    /**
+     * Конструктор класса TaskBatch.
+     * @param capacity максимальное количество заданий в пакете
+     * @param firstSequence порядковый номер первого задания пакета
+     */
+    public TaskBatch(int capacity, long firstSequence) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Batch capacity must be positive");
+        }
+        this.bases = new double[capacity];
+        this.leftBounds = new double[capacity];
+        this.rightBounds = new double[capacity];
+        this.steps = new double[capacity];
+        this.firstSequence = firstSequence;
+    }
+
+    /**
+     * Добавляет задание в пакет.
+     * @param base основание логарифма
+     * @param leftBound левая граница интегрирования
+     * @param rightBound правая граница интегрирования
+     * @param step шаг дискретизации
+     * @throws IllegalStateException если пакет заполнен
+     */
+    public void add(double base, double leftBound, double rightBound, double step) {
+        if (size == bases.length) {
+            throw new IllegalStateException("Batch is full");
+        }
+        bases[size] = base;
+        leftBounds[size] = leftBound;
+        rightBounds[size] = rightBound;
+        steps[size] = step;
+        size++;
+    }
+
+    /**
+     * Возвращает количество заданий в пакете.
+     * @return количество заданий
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, заполнен ли пакет.
+     * @return true, если в пакет больше нельзя добавить задание
+     */
+    public boolean isFull() {
+        return size == bases.length;
+    }
+
+    /**
+     * Возвращает порядковый номер первого задания пакета.
+     * @return порядковый номер
+     */
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * Возвращает основание логарифма задания.
+     * @param index номер задания в пакете
+     * @return основание логарифма
+     */
+    public double getBase(int index) {
+        checkIndex(index);
+        return bases[index];
+    }
+
+    /**
+     * Возвращает левую границу интегрирования задания.
+     * @param index номер задания в пакете
+     * @return левая граница
+     */
+    public double getLeftBound(int index) {
+        checkIndex(index);
+        return leftBounds[index];
+    }
+
+    /**
+     * Возвращает правую границу интегрирования задания.
+     * @param index номер задания в пакете
+     * @return правая граница
+     */
+    public double getRightBound(int index) {
+        checkIndex(index);
+        return rightBounds[index];
+    }
+
+    /**
+     * Возвращает шаг дискретизации задания.
+     * @param index номер задания в пакете
+     * @return шаг дискретизации
+     */
+    public double getStep(int index) {
+        checkIndex(index);
+        return steps[index];
+    }
+
+    /**
+     * Возвращает задание пакета в виде объекта TaskData.
+     * @param index номер задания в пакете
+     * @return параметры задания
+     */
+    public Task.TaskData getTaskData(int index) {
+        checkIndex(index);
+        return new Task.TaskData(new Log(bases[index]), leftBounds[index], rightBounds[index], steps[index]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+}
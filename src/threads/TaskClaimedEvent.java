@@ -0,0 +1,72 @@
+package threads;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: интегратор получает задание.
+ * Длительность включает ожидание появления задания или доступа к нему,
+ * поэтому по умолчанию записываются только получения дольше 1 мс.
+ * Поля совпадают с полями {@link TaskPublishedEvent}.
+ */
+@Name("threads.TaskClaimed")
+@Label("Task Claimed")
+@Category({"Integration Pipeline", "Tasks"})
+@Description("Получение задания интегратором")
+@Threshold("1 ms")
+@StackTrace(false)
+final class TaskClaimedEvent extends Event {
+    @Label("Channel")
+    @Description("Способ передачи: Task, RingQueue, BatchQueue или IntegrationService")
+    String channel;
+
+    @Label("Tasks")
+    int tasks;
+
+    @Label("Left Bound")
+    double leftBound;
+
+    @Label("Right Bound")
+    double rightBound;
+
+    @Label("Step")
+    double step;
+
+    static TaskClaimedEvent start() {
+        TaskClaimedEvent event = new TaskClaimedEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(String channel, Task.TaskData task) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.tasks = 1;
+            this.leftBound = task.leftBound;
+            this.rightBound = task.rightBound;
+            this.step = task.step;
+            commit();
+        }
+    }
+
+    /**
+     * Завершает событие получения пакета; границы и шаг для пакета не заполняются.
+     */
+    void finish(String channel, TaskBatch batch) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.tasks = batch.size();
+            this.leftBound = Double.NaN;
+            this.rightBound = Double.NaN;
+            this.step = Double.NaN;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package threads;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: генератор передаёт задание интеграторам.
+ * Длительность включает ожидание места в очереди или доступа к заданию,
+ * поэтому по умолчанию записываются только передачи дольше 1 мс.
+ * Пока событие не включено в записи, объект события устраняется JIT-компилятором.
+ */
+@Name("threads.TaskPublished")
+@Label("Task Published")
+@Category({"Integration Pipeline", "Tasks"})
+@Description("Передача задания от генератора интеграторам")
+@Threshold("1 ms")
+@StackTrace(false)
+final class TaskPublishedEvent extends Event {
+    @Label("Channel")
+    @Description("Способ передачи: Task, RingQueue, BatchQueue или IntegrationService")
+    String channel;
+
+    @Label("Tasks")
+    int tasks;
+
+    @Label("Left Bound")
+    double leftBound;
+
+    @Label("Right Bound")
+    double rightBound;
+
+    @Label("Step")
+    double step;
+
+    static TaskPublishedEvent start() {
+        TaskPublishedEvent event = new TaskPublishedEvent();
+        event.begin();
+        return event;
+    }
+
+    void finish(String channel, Task.TaskData task) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.tasks = 1;
+            this.leftBound = task.leftBound;
+            this.rightBound = task.rightBound;
+            this.step = task.step;
+            commit();
+        }
+    }
+
+    /**
+     * Завершает событие передачи пакета; границы и шаг для пакета не заполняются.
+     */
+    void finish(String channel, TaskBatch batch) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.tasks = batch.size();
+            this.leftBound = Double.NaN;
+            this.rightBound = Double.NaN;
+            this.step = Double.NaN;
+            commit();
+        }
+    }
+}
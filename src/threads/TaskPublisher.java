@@ -0,0 +1,185 @@
+package threads;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Издатель заданий на интегрирование в модели Flow.
+ * Каждый подписчик получает свою последовательность из заданного количества случайных
+ * заданий (см. {@link RandomTasks}), причём ровно столько, сколько запросил: задания
+ * создаются по мере поступления запросов, поэтому память ограничена, а ожидание
+ * подписчика не требует ни флагов готовности, ни опроса.
+ * Сигналы подписчику передаются последовательно в задачах исполнителя.
+ * Пример конвейера:
+ * <pre>
+ * IntegrationProcessor processor = new IntegrationProcessor(64);
+ * processor.subscribe(new SinkSubscriber(new ConsoleResultSink(), 64));
+ * new TaskPublisher(100).subscribe(processor);
+ * </pre>
+ */
+public class TaskPublisher implements Flow.Publisher<Task.TaskData> {
+    private final int tasksCount;
+    private final Supplier<RandomTasks> source;
+    private final Executor executor;
+
+    /**
+     * Создаёт издателя случайных заданий.
+     * @param tasksCount количество заданий для каждого подписчика
+     */
+    public TaskPublisher(int tasksCount) {
+        this(tasksCount, RandomTasks::new, defaultExecutor());
+    }
+
+    /**
+     * Создаёт издателя воспроизводимой последовательности заданий.
+     * @param tasksCount количество заданий для каждого подписчика
+     * @param seed начальное значение генератора случайных чисел
+     */
+    public TaskPublisher(int tasksCount, long seed) {
+        this(tasksCount, seed, defaultExecutor());
+    }
+
+    /**
+     * Создаёт издателя воспроизводимой последовательности заданий с заданным исполнителем.
+     * @param tasksCount количество заданий для каждого подписчика
+     * @param seed начальное значение генератора случайных чисел
+     * @param executor исполнитель, в задачах которого передаются сигналы подписчику
+     */
+    public TaskPublisher(int tasksCount, long seed, Executor executor) {
+        this(tasksCount, () -> new RandomTasks(seed), executor);
+    }
+
+    /**
+     * Создаёт издателя с заданным источником заданий.
+     * @param tasksCount количество заданий для каждого подписчика
+     * @param source создаёт источник заданий для каждого подписчика
+     * @param executor исполнитель, в задачах которого передаются сигналы подписчику
+     */
+    public TaskPublisher(int tasksCount, Supplier<RandomTasks> source, Executor executor) {
+        if (tasksCount < 0) {
+            throw new IllegalArgumentException("Tasks count must not be negative");
+        }
+        if (source == null || executor == null) {
+            throw new IllegalArgumentException("Task source and executor must not be null");
+        }
+        this.tasksCount = tasksCount;
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Task.TaskData> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        new TaskSubscription(subscriber, source.get()).schedule();
+    }
+
+    /**
+     * Исполнитель по умолчанию: общий пул, если в нём больше одного потока,
+     * иначе новый поток на каждую задачу (как в SubmissionPublisher).
+     */
+    private static Executor defaultExecutor() {
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return ForkJoinPool.commonPool();
+        }
+        return runnable -> new Thread(runnable).start();
+    }
+
+    /**
+     * Подписка одного подписчика. Сигналы передаются из цикла, который выполняется
+     * не более чем в одной задаче исполнителя одновременно: счётчик work отмечает
+     * запросы, поступившие во время выполнения цикла.
+     */
+    private final class TaskSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Task.TaskData> subscriber;
+        private final RandomTasks tasks;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+
+        // Используются только в цикле передачи сигналов
+        private boolean subscribed;
+        private int emitted;
+
+        TaskSubscription(Flow.Subscriber<? super Task.TaskData> subscriber, RandomTasks tasks) {
+            this.subscriber = subscriber;
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+            } else {
+                long current;
+                long updated;
+                do {
+                    current = demand.get();
+                    updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, updated));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void schedule() {
+            if (work.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (true) {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                if (cancelled) {
+                    return;
+                }
+                if (invalidRequest) {
+                    cancelled = true;
+                    subscriber.onError(new IllegalArgumentException("Requested number of tasks must be positive"));
+                    return;
+                }
+                long requested = demand.get();
+                long sent = 0;
+                while (sent != requested && emitted < tasksCount && !cancelled) {
+                    subscriber.onNext(tasks.next());
+                    emitted++;
+                    sent++;
+                }
+                if (emitted == tasksCount && !cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (sent != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-sent);
+                }
+                missed = work.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
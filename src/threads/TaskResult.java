@@ -0,0 +1,44 @@
+package threads;
+
+/**
+ * Результат решения задания на интегрирование.
+ * Хранит исходное задание и его порядковый номер, поэтому результат можно сопоставить
+ * с заданием, даже если задания решаются несколькими потоками не по порядку.
+ */
+public class TaskResult {
+    public final long sequence;
+    public final Task.TaskData task;
+    public final double value;
+    public final Exception error;
+
+    /**
+     * Конструктор класса TaskResult.
+     * @param sequence порядковый номер задания
+     * @param task исходное задание
+     * @param value значение интеграла (NaN, если вычисление завершилось ошибкой)
+     * @param error исключение, возникшее при вычислении, или null
+     */
+    public TaskResult(long sequence, Task.TaskData task, double value, Exception error) {
+        this.sequence = sequence;
+        this.task = task;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Проверяет, было ли задание решено без ошибок.
+     * @return true, если интеграл вычислен
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null) {
+            return String.format("#%d %.6f %.6f %.6f ERROR: %s",
+                sequence, task.leftBound, task.rightBound, task.step, error.getMessage());
+        }
+        return String.format("#%d %.6f %.6f %.6f %.15f", sequence, task.leftBound, task.rightBound, task.step, value);
+    }
+}
@@ -0,0 +1,169 @@
+package threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Конвейер генерации и решения заданий, в котором каждое задание решается
+ * в отдельном виртуальном потоке (см. {@link VirtualThreads}).
+ * Задания генерируются тоже в отдельном виртуальном потоке, а поток, вызвавший
+ * {@link #run(int, RandomTasks)}, только ожидает завершения конвейера.
+ * Генератор ограничивает количество одновременно решаемых заданий, ожидая на условии
+ * ReentrantLock, а не на мониторе объекта: ожидание на мониторе закрепляет виртуальный
+ * поток за потоком-носителем, а ожидание на условии освобождает носитель.
+ * Результаты передаются обработчику в потоке, решившем задание.
+ */
+public class VirtualThreadPipeline {
+    private final int maxInFlight;
+    private final Consumer<TaskResult> resultHandler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    // Изменяется только под блокировкой lock
+    private int inFlight;
+
+    /**
+     * Конструктор класса VirtualThreadPipeline.
+     * @param maxInFlight максимальное количество одновременно решаемых заданий
+     * @param resultHandler обработчик результатов
+     */
+    public VirtualThreadPipeline(int maxInFlight, Consumer<TaskResult> resultHandler) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight tasks count must be positive");
+        }
+        if (resultHandler == null) {
+            throw new IllegalArgumentException("Result handler must not be null");
+        }
+        this.maxInFlight = maxInFlight;
+        this.resultHandler = resultHandler;
+    }
+
+    /**
+     * Генерирует и решает задания, ожидая решения всех.
+     * @param tasksCount количество заданий
+     * @param tasks источник заданий
+     * @return количество решённых заданий
+     * @throws InterruptedException если поток был прерван во время ожидания
+     */
+    public long run(int tasksCount, RandomTasks tasks) throws InterruptedException {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Task source must not be null");
+        }
+        ExecutorService executor = VirtualThreads.newTaskExecutor();
+        Producer producer = new Producer(tasksCount, tasks, executor);
+        Thread producerThread = VirtualThreads.startThread("pipeline-producer", producer);
+        try {
+            try {
+                producerThread.join();
+            } catch (InterruptedException e) {
+                producerThread.interrupt();
+                throw e;
+            }
+            // join() гарантирует, что поля генератора видны этому потоку
+            if (producer.failure instanceof InterruptedException) {
+                throw (InterruptedException) producer.failure;
+            }
+            if (producer.failure instanceof RuntimeException) {
+                throw (RuntimeException) producer.failure;
+            }
+            if (producer.failure instanceof Error) {
+                throw (Error) producer.failure;
+            }
+            awaitCompletion();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return producer.submitted;
+    }
+
+    /**
+     * Проверяет, решаются ли задания в виртуальных потоках.
+     * @return true, если виртуальные потоки поддерживаются
+     */
+    public boolean isVirtual() {
+        return VirtualThreads.isSupported();
+    }
+
+    private static TaskResult solve(long sequence, Task.TaskData task) {
+        try {
+            double value = MeteredIntegration.integrate(task.function, task.leftBound, task.rightBound, task.step);
+            return new TaskResult(sequence, task, value, null);
+        } catch (Exception e) {
+            return new TaskResult(sequence, task, Double.NaN, e);
+        }
+    }
+
+    /**
+     * Генератор заданий: ждёт свободного места и передаёт задание исполнителю.
+     */
+    private class Producer implements Runnable {
+        private final int tasksCount;
+        private final RandomTasks tasks;
+        private final ExecutorService executor;
+        private long submitted;
+        private Throwable failure;
+
+        Producer(int tasksCount, RandomTasks tasks, ExecutorService executor) {
+            this.tasksCount = tasksCount;
+            this.tasks = tasks;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (; submitted < tasksCount; submitted++) {
+                    acquireSlot();
+                    Task.TaskData task = tasks.next();
+                    long sequence = submitted;
+                    executor.execute(() -> {
+                        try {
+                            resultHandler.accept(solve(sequence, task));
+                        } finally {
+                            releaseSlot();
+                        }
+                    });
+                }
+            } catch (InterruptedException | RuntimeException | Error e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void acquireSlot() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= maxInFlight) {
+                slotReleased.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                slotReleased.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Утилитарный класс для запуска задач в виртуальных потоках.
+ * Виртуальные потоки появились в Java 21, поэтому методы вызываются через рефлексию:
+ * на более ранних версиях вместо них используются обычные потоки платформы.
+ * Нельзя создать объект этого класса.
+ */
+public final class VirtualThreads {
+    private static final Method NEW_EXECUTOR = findNewExecutor();
+    private static final Method START_VIRTUAL_THREAD = NEW_EXECUTOR != null ? findStartVirtualThread() : null;
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров класса.
+     */
+    private VirtualThreads() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * Проверяет, доступны ли виртуальные потоки.
+     * @return true, если виртуальные потоки поддерживаются
+     */
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Создаёт исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     * Если виртуальные потоки недоступны, возвращает пул обычных потоков
+     * по количеству процессоров.
+     * @return исполнитель задач
+     */
+    public static ExecutorService newTaskExecutor() {
+        if (NEW_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_EXECUTOR.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // Переходим к потокам платформы
+            }
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Запускает задачу в новом виртуальном потоке.
+     * Если виртуальные потоки недоступны, запускает обычный поток платформы.
+     * @param name имя потока
+     * @param task задача
+     * @return запущенный поток
+     */
+    public static Thread startThread(String name, Runnable task) {
+        if (START_VIRTUAL_THREAD != null) {
+            try {
+                Thread thread = (Thread) START_VIRTUAL_THREAD.invoke(null, task);
+                thread.setName(name);
+                return thread;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // Переходим к потокам платформы
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.start();
+        return thread;
+    }
+
+    private static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Method findNewExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            // Проверяем, что виртуальные потоки не требуют включения preview-режима
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+}